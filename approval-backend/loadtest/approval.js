@@ -0,0 +1,66 @@
+// 审批系统读接口压测脚本（k6）
+// 用法：k6 run -e BASE_URL=http://localhost:8080/api -e MODE=platform loadtest/approval.js
+import http from 'k6/http'
+import { check } from 'k6'
+import { Trend } from 'k6/metrics'
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080/api'
+const MODE = __ENV.MODE || 'platform'
+const VUS = parseInt(__ENV.VUS || '200')
+const DURATION = __ENV.DURATION || '2m'
+
+const latency = new Trend(`approval_latency_${MODE}`, true)
+
+export const options = {
+    scenarios: {
+        read_mix: {
+            executor: 'ramping-vus',
+            startVUs: 0,
+            stages: [
+                { duration: '20s', target: VUS },
+                { duration: DURATION, target: VUS },
+                { duration: '10s', target: 0 },
+            ],
+        },
+    },
+    summaryTrendStats: ['avg', 'med', 'p(95)', 'p(99)', 'max'],
+    thresholds: {
+        http_req_failed: ['rate<0.01'],
+    },
+}
+
+function login(username) {
+    const res = http.post(`${BASE_URL}/auth/login`,
+        JSON.stringify({ username, password: '123456' }),
+        { headers: { 'Content-Type': 'application/json' } })
+    const body = res.json()
+    if (body.code !== 200) {
+        throw new Error(`登录失败：${username} ${body.message}`)
+    }
+    return body.data.token
+}
+
+export function setup() {
+    return {
+        employee: login('zhangsan'),
+        approver: login('tech_manager'),
+    }
+}
+
+function get(path, token) {
+    const res = http.get(`${BASE_URL}${path}`, { headers: { Authorization: `Bearer ${token}` } })
+    latency.add(res.timings.duration)
+    check(res, { 'status 200': (r) => r.status === 200 })
+    return res
+}
+
+export default function (tokens) {
+    get('/application/my?pageNum=1&pageSize=10', tokens.employee)
+    get('/application/summary', tokens.employee)
+
+    const todo = get('/task/todo?pageNum=1&pageSize=10', tokens.approver).json()
+    const records = (todo.data && todo.data.records) || []
+    if (records.length > 0) {
+        get(`/application/${records[0].appId}`, tokens.approver)
+    }
+}
@@ -0,0 +1,27 @@
+package com.approval.common.cache;
+
+import java.lang.reflect.Type;
+import java.util.function.BiConsumer;
+
+/**
+ * 未启用二级缓存时的空实现，仅使用本地缓存
+ */
+public class NoopRemoteCacheStore implements RemoteCacheStore {
+
+    @Override
+    public <V> V get(String cacheName, String key, Type valueType) {
+        return null;
+    }
+
+    @Override
+    public void put(String cacheName, String key, Object value, long ttl) {
+    }
+
+    @Override
+    public void evict(String cacheName, String key) {
+    }
+
+    @Override
+    public void subscribe(BiConsumer<String, String> listener) {
+    }
+}
@@ -0,0 +1,88 @@
+package com.approval.common.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.function.BiConsumer;
+
+/**
+ * 基于 Redis 的二级缓存
+ * 值以 JSON 存储；失效消息通过 pub/sub 广播，消息格式为 nodeId|cacheName|key，忽略本节点发出的消息
+ * Redis 不可用时读写降级为未命中，不影响业务
+ */
+@Slf4j
+public class RedisRemoteCacheStore implements RemoteCacheStore {
+
+    private static final String KEY_PREFIX = "approval:cache:";
+    private static final String SEPARATOR = "|";
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final ChannelTopic topic;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    public RedisRemoteCacheStore(StringRedisTemplate redisTemplate, ObjectMapper objectMapper,
+                                 RedisMessageListenerContainer listenerContainer, String channel) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.listenerContainer = listenerContainer;
+        this.topic = new ChannelTopic(channel);
+    }
+
+    @Override
+    public <V> V get(String cacheName, String key, Type valueType) {
+        try {
+            String json = redisTemplate.opsForValue().get(redisKey(cacheName, key));
+            if (json == null) {
+                return null;
+            }
+            return objectMapper.readValue(json, objectMapper.getTypeFactory().constructType(valueType));
+        } catch (Exception e) {
+            log.warn("读取二级缓存失败：{}:{}", cacheName, key, e);
+            return null;
+        }
+    }
+
+    @Override
+    public void put(String cacheName, String key, Object value, long ttl) {
+        try {
+            redisTemplate.opsForValue().set(redisKey(cacheName, key), objectMapper.writeValueAsString(value),
+                    Duration.ofMillis(ttl));
+        } catch (Exception e) {
+            log.warn("写入二级缓存失败：{}:{}", cacheName, key, e);
+        }
+    }
+
+    @Override
+    public void evict(String cacheName, String key) {
+        try {
+            redisTemplate.delete(redisKey(cacheName, key));
+            redisTemplate.convertAndSend(topic.getTopic(), nodeId + SEPARATOR + cacheName + SEPARATOR + key);
+        } catch (Exception e) {
+            log.warn("失效二级缓存失败：{}:{}", cacheName, key, e);
+        }
+    }
+
+    @Override
+    public void subscribe(BiConsumer<String, String> listener) {
+        listenerContainer.addMessageListener((message, pattern) -> {
+            String body = new String(message.getBody(), StandardCharsets.UTF_8);
+            String[] parts = body.split("\\|", 3);
+            if (parts.length == 3 && !nodeId.equals(parts[0])) {
+                listener.accept(parts[1], parts[2]);
+            }
+        }, topic);
+    }
+
+    private String redisKey(String cacheName, String key) {
+        return KEY_PREFIX + cacheName + ":" + key;
+    }
+}
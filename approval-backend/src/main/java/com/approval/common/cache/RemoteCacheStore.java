@@ -0,0 +1,35 @@
+package com.approval.common.cache;
+
+import java.lang.reflect.Type;
+import java.util.function.BiConsumer;
+
+/**
+ * 二级（共享）缓存存储
+ * 多节点共享缓存数据，并负责把失效消息广播给其他节点
+ */
+public interface RemoteCacheStore {
+
+    /**
+     * 读取缓存
+     *
+     * @return 不存在或读取失败时返回 null
+     */
+    <V> V get(String cacheName, String key, Type valueType);
+
+    /**
+     * 写入缓存
+     *
+     * @param ttl 过期时间（毫秒）
+     */
+    void put(String cacheName, String key, Object value, long ttl);
+
+    /**
+     * 删除缓存并通知其他节点失效本地缓存
+     */
+    void evict(String cacheName, String key);
+
+    /**
+     * 订阅其他节点发出的失效消息（cacheName, key）
+     */
+    void subscribe(BiConsumer<String, String> listener);
+}
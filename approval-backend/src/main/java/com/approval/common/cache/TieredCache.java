@@ -0,0 +1,120 @@
+package com.approval.common.cache;
+
+import cn.hutool.cache.CacheUtil;
+import cn.hutool.cache.impl.LRUCache;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * 两级缓存：本地 LRU（一级）+ 共享存储（二级）
+ * 读取依次查一级、二级、数据源，回填上层；失效时同时删除两级并广播给其他节点
+ * 缓存值视为只读，null 不缓存；加载期间发生过失效时，本次加载结果直接返回但不回填，避免旧值被写回
+ */
+public class TieredCache<V> {
+
+    private final String name;
+    private final Type valueType;
+    private final long ttl;
+    private final LRUCache<String, V> local;
+    private final RemoteCacheStore remote;
+    private final List<Consumer<String>> evictionListeners = new CopyOnWriteArrayList<>();
+    private final AtomicLong evictions = new AtomicLong();
+
+    TieredCache(String name, Type valueType, int maxSize, long ttl, RemoteCacheStore remote) {
+        this.name = name;
+        this.valueType = valueType;
+        this.ttl = ttl;
+        this.local = CacheUtil.newLRUCache(maxSize, ttl);
+        this.remote = remote;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * 读取缓存，两级均未命中时调用 loader 加载并回填
+     */
+    public V get(String key, Function<String, V> loader) {
+        V value = local.get(key, false);
+        if (value != null) {
+            return value;
+        }
+
+        long generation = evictions.get();
+        value = remote.get(name, key, valueType);
+        if (value == null) {
+            value = loader.apply(key);
+            if (value == null) {
+                return null;
+            }
+            if (evictions.get() == generation) {
+                remote.put(name, key, value, ttl);
+            }
+        }
+        if (evictions.get() == generation) {
+            local.put(key, value);
+        }
+        return value;
+    }
+
+    /**
+     * 直接写入两级缓存（调用方已持有最新值时使用，如版本校验后的重新加载）
+     */
+    public void put(String key, V value) {
+        if (key == null || value == null) {
+            return;
+        }
+        remote.put(name, key, value, ttl);
+        local.put(key, value);
+    }
+
+    /**
+     * 失效缓存；处于事务中时延迟到提交之后，避免并发请求把旧数据重新写回缓存
+     */
+    public void evict(String key) {
+        if (key == null) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    doEvict(key);
+                }
+            });
+        } else {
+            doEvict(key);
+        }
+    }
+
+    /**
+     * 注册失效回调，本节点或其他节点失效该缓存的键时触发
+     */
+    public void onEvict(Consumer<String> listener) {
+        evictionListeners.add(listener);
+    }
+
+    /**
+     * 仅失效本地缓存（收到其他节点的失效消息时调用）
+     */
+    void evictLocal(String key) {
+        evictions.incrementAndGet();
+        local.remove(key);
+        evictionListeners.forEach(listener -> listener.accept(key));
+    }
+
+    private void doEvict(String key) {
+        evictions.incrementAndGet();
+        local.remove(key);
+        remote.evict(name, key);
+        evictionListeners.forEach(listener -> listener.accept(key));
+    }
+}
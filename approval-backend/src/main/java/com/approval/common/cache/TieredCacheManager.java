@@ -0,0 +1,46 @@
+package com.approval.common.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Type;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 两级缓存管理
+ * 启用 Redis（approval.cache.redis.enabled=true）时以 Redis 作为二级缓存，否则只使用本地缓存
+ */
+@Slf4j
+@Component
+public class TieredCacheManager {
+
+    private final RemoteCacheStore remote;
+    private final ConcurrentMap<String, TieredCache<?>> caches = new ConcurrentHashMap<>();
+
+    public TieredCacheManager(ObjectProvider<RemoteCacheStore> remoteProvider) {
+        this.remote = remoteProvider.getIfAvailable(NoopRemoteCacheStore::new);
+        this.remote.subscribe(this::onRemoteEvict);
+        log.info("两级缓存二级存储：{}", remote.getClass().getSimpleName());
+    }
+
+    /**
+     * 获取（首次调用时创建）缓存
+     *
+     * @param valueType 缓存值类型，用于二级缓存反序列化
+     * @param ttl       过期时间（毫秒）
+     */
+    @SuppressWarnings("unchecked")
+    public <V> TieredCache<V> getCache(String name, Type valueType, int maxSize, long ttl) {
+        return (TieredCache<V>) caches.computeIfAbsent(name,
+                key -> new TieredCache<V>(name, valueType, maxSize, ttl, remote));
+    }
+
+    private void onRemoteEvict(String cacheName, String key) {
+        TieredCache<?> cache = caches.get(cacheName);
+        if (cache != null) {
+            cache.evictLocal(key);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.approval.common.result;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * 游标分页结果（不统计总数）
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPage<T> implements Serializable {
+
+    private List<T> records;
+
+    /** 下一页游标，没有更多数据时为 null */
+    private String nextCursor;
+
+    private Boolean hasMore;
+}
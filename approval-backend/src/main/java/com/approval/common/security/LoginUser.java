@@ -0,0 +1,34 @@
+package com.approval.common.security;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.security.Principal;
+import java.util.List;
+
+/**
+ * 当前登录用户（由 JWT 过滤器解析后放入安全上下文）
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LoginUser implements Principal {
+
+    private Long userId;
+
+    private String username;
+
+    private String realName;
+
+    private Long deptId;
+
+    private List<String> roles;
+
+    @Override
+    @JsonIgnore
+    public String getName() {
+        return username;
+    }
+}
@@ -0,0 +1,77 @@
+package com.approval.common.security;
+
+import com.approval.common.cache.TieredCache;
+import com.approval.common.cache.TieredCacheManager;
+import com.approval.module.system.entity.User;
+import com.approval.module.system.mapper.RoleMapper;
+import com.approval.module.system.mapper.UserMapper;
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 登录用户缓存
+ * 按用户名缓存 userId/deptId/角色，容量有上限且按 TTL 过期；用户信息或角色变更时主动失效
+ * 启用 Redis 时为两级缓存，多个节点共享并同步失效
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LoginUserCache {
+
+    private final UserMapper userMapper;
+    private final RoleMapper roleMapper;
+    private final TieredCacheManager cacheManager;
+
+    @Value("${auth.login-user-cache.max-size:1000}")
+    private int maxSize;
+
+    @Value("${auth.login-user-cache.ttl:300000}")
+    private long ttl;
+
+    private TieredCache<LoginUser> cache;
+
+    @PostConstruct
+    public void init() {
+        cache = cacheManager.getCache("loginUser", LoginUser.class, maxSize, ttl);
+    }
+
+    /**
+     * 获取登录用户，缓存未命中时查询数据库
+     *
+     * @return 用户不存在或已禁用时返回 null
+     */
+    public LoginUser get(String username) {
+        return cache.get(username, this::load);
+    }
+
+    /**
+     * 失效指定用户；处于事务中时延迟到提交之后，避免并发请求把旧数据重新写回缓存
+     */
+    public void evict(String username) {
+        cache.evict(username);
+    }
+
+    private LoginUser load(String username) {
+        User user = userMapper.selectOne(
+                new LambdaQueryWrapper<User>().eq(User::getUsername, username));
+        if (user == null || Integer.valueOf(0).equals(user.getStatus())) {
+            log.debug("登录用户不存在或已禁用：{}", username);
+            return null;
+        }
+
+        List<String> roles = roleMapper.selectRoleKeysByUserId(user.getUserId());
+        if (roles == null || roles.isEmpty()) {
+            // 与登录接口保持一致，没有角色时默认普通用户
+            roles = Collections.singletonList("ROLE_USER");
+        }
+
+        return new LoginUser(user.getUserId(), user.getUsername(), user.getRealName(), user.getDeptId(), roles);
+    }
+}
@@ -0,0 +1,111 @@
+package com.approval.common.security;
+
+import cn.hutool.cache.CacheUtil;
+import cn.hutool.cache.impl.LRUCache;
+import cn.hutool.crypto.digest.DigestUtil;
+import com.approval.config.JwtProperties;
+import io.jsonwebtoken.Claims;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * 已校验 Token 缓存
+ * 以 Token 的 SHA-256 摘要为键缓存已验签的 Claims，条目在 Token 过期时失效；
+ * 前端轮询反复携带同一 Token 时可跳过验签与解析。
+ * 注意：轮换下线某个密钥后，已缓存的 Token 仍会在其过期前被接受。
+ * 命中/未命中次数按 jwt.token-cache.stats-interval 周期输出到日志。
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class VerifiedTokenCache {
+
+    private final JwtProperties jwtProperties;
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+
+    private LRUCache<String, Claims> cache;
+
+    @PostConstruct
+    public void init() {
+        if (isEnabled()) {
+            cache = CacheUtil.newLRUCache(jwtProperties.getTokenCache().getMaxSize());
+        }
+    }
+
+    public boolean isEnabled() {
+        return jwtProperties.getTokenCache().isEnabled();
+    }
+
+    /**
+     * 从缓存获取已校验的 Claims，未命中时调用 verifier 验签并写入缓存
+     */
+    public Optional<Claims> getOrVerify(String token, Function<String, Optional<Claims>> verifier) {
+        if (!isEnabled()) {
+            return verifier.apply(token);
+        }
+
+        String key = DigestUtil.sha256Hex(token);
+        Claims cached = cache.get(key, false);
+        if (cached != null && !isExpired(cached)) {
+            hitCount.increment();
+            return Optional.of(cached);
+        }
+
+        missCount.increment();
+        Optional<Claims> claims = verifier.apply(token);
+        claims.ifPresent(c -> put(key, c));
+        return claims;
+    }
+
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    public int size() {
+        return cache != null ? cache.size() : 0;
+    }
+
+    /**
+     * 输出累计命中率，启用缓存且有请求时才输出
+     */
+    @Scheduled(fixedDelayString = "${jwt.token-cache.stats-interval:300000}")
+    public void logStats() {
+        long hits = getHitCount();
+        long misses = getMissCount();
+        if (!isEnabled() || hits + misses == 0) {
+            return;
+        }
+        log.info("Token 缓存统计：命中 {}，未命中 {}，命中率 {}%，条目 {}",
+                hits, misses, String.format("%.1f", hits * 100.0 / (hits + misses)), size());
+    }
+
+    private void put(String key, Claims claims) {
+        Date expiration = claims.getExpiration();
+        if (expiration == null) {
+            return;
+        }
+        long ttl = expiration.getTime() - System.currentTimeMillis();
+        if (ttl > 0) {
+            cache.put(key, claims, ttl);
+        }
+    }
+
+    private boolean isExpired(Claims claims) {
+        Date expiration = claims.getExpiration();
+        return expiration == null || expiration.getTime() <= System.currentTimeMillis();
+    }
+}
@@ -0,0 +1,98 @@
+package com.approval.common.utils;
+
+import com.approval.common.exception.BusinessException;
+import com.approval.common.result.CursorPage;
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.core.toolkit.support.SFunction;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.util.StringUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * 游标（Keyset）分页工具
+ * 游标对 (时间, 主键) 编码，按二者倒序翻页，任意页的代价与第一页相同
+ */
+public final class CursorUtils {
+
+    private static final String SEPARATOR = "|";
+
+    private CursorUtils() {
+    }
+
+    /**
+     * 编码游标
+     */
+    public static String encode(LocalDateTime time, Long id) {
+        String raw = time + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 解码游标
+     */
+    public static Cursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int index = raw.lastIndexOf(SEPARATOR);
+            return new Cursor(LocalDateTime.parse(raw.substring(0, index)), Long.valueOf(raw.substring(index + 1)));
+        } catch (RuntimeException e) {
+            throw new BusinessException(400, "分页游标无效");
+        }
+    }
+
+    /**
+     * 追加游标条件与排序：(time, id) < (cursor.time, cursor.id)，按 time、id 倒序，多取一条用于判断是否还有下一页
+     */
+    public static <T> LambdaQueryWrapper<T> seek(LambdaQueryWrapper<T> wrapper, SFunction<T, ?> timeColumn,
+                                                 SFunction<T, ?> idColumn, String cursor, int size) {
+        if (StringUtils.hasText(cursor)) {
+            Cursor position = decode(cursor);
+            wrapper.and(w -> w.lt(timeColumn, position.getTime())
+                    .or(o -> o.eq(timeColumn, position.getTime()).lt(idColumn, position.getId())));
+        }
+        return wrapper.orderByDesc(timeColumn)
+                .orderByDesc(idColumn)
+                .last("LIMIT " + (size + 1));
+    }
+
+    /**
+     * 将多取一条的查询结果转换为游标分页
+     */
+    public static <T, V> CursorPage<V> toPage(List<T> rows, int size, Function<List<T>, List<V>> converter,
+                                              Function<T, LocalDateTime> timeGetter, Function<T, Long> idGetter) {
+        boolean hasMore = rows.size() > size;
+        List<T> pageRows = hasMore ? rows.subList(0, size) : rows;
+
+        String nextCursor = null;
+        if (hasMore) {
+            T last = pageRows.get(pageRows.size() - 1);
+            nextCursor = encode(timeGetter.apply(last), idGetter.apply(last));
+        }
+        return new CursorPage<>(converter.apply(pageRows), nextCursor, hasMore);
+    }
+
+    /**
+     * 规范化每页条数，默认 10，最多 100
+     */
+    public static int normalizeSize(Integer pageSize) {
+        if (pageSize == null || pageSize <= 0) {
+            return 10;
+        }
+        return Math.min(pageSize, 100);
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Cursor {
+
+        private final LocalDateTime time;
+
+        private final Long id;
+    }
+}
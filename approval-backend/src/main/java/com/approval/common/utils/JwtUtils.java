@@ -1,41 +1,102 @@
 package com.approval.common.utils;
 
+import com.approval.config.JwtProperties;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.LocatorAdapter;
+import io.jsonwebtoken.UnsupportedJwtException;
 import io.jsonwebtoken.security.Keys;
-import org.springframework.beans.factory.annotation.Value;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.security.Key;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
 
 /**
  * JWT 工具类
+ * 密钥与解析器在启动时构建一次，二者均为线程安全，可在过滤器中并发复用
  */
+@Slf4j
 @Component
+@RequiredArgsConstructor
 public class JwtUtils {
 
-    @Value("${jwt.secret}")
-    private String secret;
+    private static final String DEFAULT_KEY_ID = "default";
 
-    @Value("${jwt.expiration}")
-    private Long expiration;
+    private final JwtProperties jwtProperties;
+
+    private SecretKey signingKey;
+
+    /** 未配置密钥轮换时为 null，Token 头中不写 kid */
+    private String signingKeyId;
+
+    private JwtParser jwtParser;
+
+    @PostConstruct
+    public void init() {
+        signingKey = Keys.hmacShaKeyFor(jwtProperties.getSecret().getBytes(StandardCharsets.UTF_8));
+
+        Map<String, String> keys = jwtProperties.getKeys();
+        if (keys == null || keys.isEmpty()) {
+            jwtParser = Jwts.parser().verifyWith(signingKey).build();
+            return;
+        }
+
+        // 密钥轮换：按 Token 头中的 kid 选择校验密钥
+        signingKeyId = StringUtils.hasText(jwtProperties.getKeyId()) ? jwtProperties.getKeyId() : DEFAULT_KEY_ID;
+        Map<String, SecretKey> verifyKeys = new HashMap<>();
+        keys.forEach((kid, secret) -> verifyKeys.put(kid, Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8))));
+        verifyKeys.put(signingKeyId, signingKey);
+        Map<String, SecretKey> keyMap = Map.copyOf(verifyKeys);
+
+        jwtParser = Jwts.parser()
+                .keyLocator(new LocatorAdapter<Key>() {
+                    @Override
+                    protected Key locate(JwsHeader header) {
+                        String kid = header.getKeyId();
+                        if (kid == null) {
+                            // 轮换前签发的 Token 没有 kid，使用当前签名密钥校验
+                            return signingKey;
+                        }
+                        SecretKey key = keyMap.get(kid);
+                        if (key == null) {
+                            throw new UnsupportedJwtException("未知的签名密钥：" + kid);
+                        }
+                        return key;
+                    }
+                })
+                .build();
+    }
 
     /**
      * 生成 Token
      */
     public String generateToken(String username) {
         Date now = new Date();
-        Date expiryDate = new Date(now.getTime() + expiration);
+        Date expiryDate = new Date(now.getTime() + jwtProperties.getExpiration());
 
-        SecretKey key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        JwtBuilder builder = Jwts.builder();
+        if (signingKeyId != null) {
+            builder.header().keyId(signingKeyId).and();
+        }
 
-        return Jwts.builder()
+        return builder
                 .subject(username)
                 .issuedAt(now)
                 .expiration(expiryDate)
-                .signWith(key)
+                .signWith(signingKey)
                 .compact();
     }
 
@@ -51,11 +112,20 @@ public class JwtUtils {
      * 验证 Token
      */
     public boolean validateToken(String token) {
+        return parseToken(token).isPresent();
+    }
+
+    /**
+     * 校验并解析 Token，签名只验证一次
+     *
+     * @return 校验失败（签名错误、已过期、格式错误等）时返回 empty
+     */
+    public Optional<Claims> parseToken(String token) {
         try {
-            getClaimsFromToken(token);
-            return true;
-        } catch (Exception e) {
-            return false;
+            return Optional.of(getClaimsFromToken(token));
+        } catch (JwtException | IllegalArgumentException e) {
+            log.debug("Token 校验失败：{}", e.getMessage());
+            return Optional.empty();
         }
     }
 
@@ -63,11 +133,6 @@ public class JwtUtils {
      * 解析 Token
      */
     private Claims getClaimsFromToken(String token) {
-        SecretKey key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
-        return Jwts.parser()
-                .verifyWith(key)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        return jwtParser.parseSignedClaims(token).getPayload();
     }
 }
@@ -1,6 +1,10 @@
 package com.approval.config;
 
+import com.approval.common.security.LoginUser;
+import com.approval.common.security.LoginUserCache;
+import com.approval.common.security.VerifiedTokenCache;
 import com.approval.common.utils.JwtUtils;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -14,31 +18,58 @@ import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
 
 @Component
 @RequiredArgsConstructor
 public class JwtAuthenticationTokenFilter extends OncePerRequestFilter {
 
+    /**
+     * 已校验的 Claims 在请求中的属性名，下游直接读取，无需再次验签
+     */
+    public static final String CLAIMS_ATTRIBUTE = JwtAuthenticationTokenFilter.class.getName() + ".CLAIMS";
+
     private final JwtUtils jwtUtils;
+    private final LoginUserCache loginUserCache;
+    private final VerifiedTokenCache verifiedTokenCache;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
         String token = getTokenFromRequest(request);
 
-        if (StringUtils.hasText(token) && jwtUtils.validateToken(token)) {
-            String username = jwtUtils.getUsernameFromToken(token);
+        if (StringUtils.hasText(token)) {
+            verifiedTokenCache.getOrVerify(token, jwtUtils::parseToken)
+                    .ifPresent(claims -> authenticate(request, claims));
+        }
 
-            // 简单实现：创建认证对象（不查询数据库加载详细权限）
-            // 如果需要详细权限控制，应该注入 UserDetailsService 并加载 UserDetails
-            UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
-                    username, null, Collections.singletonList(new SimpleGrantedAuthority("ROLE_USER")));
+        filterChain.doFilter(request, response);
+    }
 
-            SecurityContextHolder.getContext().setAuthentication(authentication);
+    /**
+     * 读取本次请求已校验的 Claims，未携带或校验失败的 Token 返回 null
+     */
+    public static Claims getClaims(HttpServletRequest request) {
+        return (Claims) request.getAttribute(CLAIMS_ATTRIBUTE);
+    }
+
+    private void authenticate(HttpServletRequest request, Claims claims) {
+        request.setAttribute(CLAIMS_ATTRIBUTE, claims);
+
+        // 通过缓存解析登录用户，控制器经 @CurrentUser 直接获取，不再重复查库
+        LoginUser loginUser = loginUserCache.get(claims.getSubject());
+        if (loginUser == null) {
+            return;
         }
 
-        filterChain.doFilter(request, response);
+        List<SimpleGrantedAuthority> authorities = loginUser.getRoles().stream()
+                .map(SimpleGrantedAuthority::new)
+                .collect(Collectors.toList());
+        UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
+                loginUser, null, authorities);
+
+        SecurityContextHolder.getContext().setAuthentication(authentication);
     }
 
     private String getTokenFromRequest(HttpServletRequest request) {
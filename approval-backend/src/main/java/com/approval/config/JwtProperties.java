@@ -0,0 +1,46 @@
+package com.approval.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * JWT 配置
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "jwt")
+public class JwtProperties {
+
+    /** 签名密钥 */
+    private String secret;
+
+    /** 有效期（毫秒） */
+    private Long expiration;
+
+    private String header;
+
+    private String prefix;
+
+    /** 当前签名密钥标识（kid），仅在配置了 keys 时写入 Token 头 */
+    private String keyId;
+
+    /** 轮换期间仍需校验的历史密钥：kid -> secret */
+    private Map<String, String> keys = new LinkedHashMap<>();
+
+    /** 已校验 Token 缓存 */
+    private TokenCache tokenCache = new TokenCache();
+
+    @Data
+    public static class TokenCache {
+
+        /** 是否启用，默认关闭 */
+        private boolean enabled = false;
+
+        /** 最大缓存条数，超出后按最近最少使用淘汰 */
+        private int maxSize = 10000;
+    }
+}
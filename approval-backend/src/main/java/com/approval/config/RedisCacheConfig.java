@@ -0,0 +1,44 @@
+package com.approval.config;
+
+import com.approval.common.cache.RedisRemoteCacheStore;
+import com.approval.common.cache.RemoteCacheStore;
+import com.approval.module.approval.support.RedisTodoBroadcaster;
+import com.approval.module.approval.support.TodoBroadcaster;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+/**
+ * Redis 二级缓存配置
+ * 同一套 pub/sub 监听容器也用于待办变更的跨节点广播
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "approval.cache.redis", name = "enabled", havingValue = "true")
+public class RedisCacheConfig {
+
+    @Bean
+    public RedisMessageListenerContainer cacheListenerContainer(RedisConnectionFactory connectionFactory) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        return container;
+    }
+
+    @Bean
+    public RemoteCacheStore remoteCacheStore(StringRedisTemplate redisTemplate, ObjectMapper objectMapper,
+                                             RedisMessageListenerContainer cacheListenerContainer,
+                                             @Value("${approval.cache.redis.channel:approval:cache:evict}") String channel) {
+        return new RedisRemoteCacheStore(redisTemplate, objectMapper, cacheListenerContainer, channel);
+    }
+
+    @Bean
+    public TodoBroadcaster todoBroadcaster(StringRedisTemplate redisTemplate, ObjectMapper objectMapper,
+                                           RedisMessageListenerContainer cacheListenerContainer,
+                                           @Value("${approval.todo-stream.channel:approval:todo:changed}") String channel) {
+        return new RedisTodoBroadcaster(redisTemplate, objectMapper, cacheListenerContainer, channel);
+    }
+}
@@ -1,6 +1,7 @@
 package com.approval.config;
 
 import jakarta.annotation.Resource;
+import jakarta.servlet.DispatcherType;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
@@ -41,12 +42,16 @@ public class SecurityConfig {
                         org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter.class)
                 // 配置权限
                 .authorizeHttpRequests(authorize -> authorize
+                        // SSE 等异步请求的二次分派（原始请求已完成认证）
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         // 允许匿名访问的接口
                         .requestMatchers("/auth/**").permitAll()
                         // Knife4j 文档
                         .requestMatchers("/doc.html", "/webjars/**", "/v3/api-docs/**").permitAll()
                         // 静态资源
                         .requestMatchers("/static/**", "/upload/**").permitAll()
+                        // 待办推送只面向审批员（共享待办池）
+                        .requestMatchers("/task/todo/stream").hasAnyRole("APPROVER", "ADMIN")
                         // 其他请求需要认证
                         .anyRequest().authenticated());
 
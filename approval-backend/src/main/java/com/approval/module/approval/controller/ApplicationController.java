@@ -1,16 +1,16 @@
 package com.approval.module.approval.controller;
 
+import com.approval.common.result.CursorPage;
 import com.approval.common.result.Result;
-import com.approval.common.utils.JwtUtils;
+import com.approval.common.security.CurrentUser;
+import com.approval.common.security.LoginUser;
 import com.approval.module.approval.dto.CreateLeaveDto;
 import com.approval.module.approval.dto.CreateReimburseDto;
 import com.approval.module.approval.service.IApplicationService;
+import com.approval.module.approval.vo.ApplicationDetailVo;
 import com.approval.module.approval.vo.ApplicationHistoryVo;
 import com.approval.module.approval.vo.ApplicationSummaryVo;
 import com.approval.module.approval.vo.ApplicationVo;
-import com.approval.module.system.entity.User;
-import com.approval.module.system.mapper.UserMapper;
-import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -31,15 +31,13 @@ import java.time.LocalDateTime;
 public class ApplicationController {
 
     private final IApplicationService applicationService;
-    private final JwtUtils jwtUtils;
-    private final UserMapper userMapper;
 
     @Operation(summary = "创建请假申请")
     @PostMapping("/leave")
     public Result<Long> createLeaveApplication(
             @Valid @RequestBody CreateLeaveDto dto,
-            @RequestHeader("Authorization") String token) {
-        Long userId = getUserIdFromToken(token);
+            @CurrentUser LoginUser loginUser) {
+        Long userId = loginUser.getUserId();
         Long appId = applicationService.createLeaveApplication(dto, userId);
         return Result.success(appId);
     }
@@ -48,8 +46,8 @@ public class ApplicationController {
     @PostMapping("/reimburse")
     public Result<Long> createReimburseApplication(
             @Valid @RequestBody CreateReimburseDto dto,
-            @RequestHeader("Authorization") String token) {
-        Long userId = getUserIdFromToken(token);
+            @CurrentUser LoginUser loginUser) {
+        Long userId = loginUser.getUserId();
         Long appId = applicationService.createReimburseApplication(dto, userId);
         return Result.success(appId);
     }
@@ -61,12 +59,26 @@ public class ApplicationController {
             @RequestParam(defaultValue = "10") Integer pageSize,
             @RequestParam(required = false) String appType,
             @RequestParam(required = false) Integer status,
-            @RequestHeader("Authorization") String token) {
-        Long userId = getUserIdFromToken(token);
+            @CurrentUser LoginUser loginUser) {
+        Long userId = loginUser.getUserId();
         Page<ApplicationVo> page = applicationService.getMyApplications(userId, pageNum, pageSize, appType, status);
         return Result.success(page);
     }
 
+    @Operation(summary = "游标分页查询我的申请列表")
+    @GetMapping("/my/cursor")
+    public Result<CursorPage<ApplicationVo>> getMyApplicationsByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") Integer pageSize,
+            @RequestParam(required = false) String appType,
+            @RequestParam(required = false) Integer status,
+            @CurrentUser LoginUser loginUser) {
+        Long userId = loginUser.getUserId();
+        CursorPage<ApplicationVo> page = applicationService.getMyApplicationsByCursor(userId, cursor, pageSize,
+                appType, status);
+        return Result.success(page);
+    }
+
     @Operation(summary = "查询审批历史")
     @GetMapping("/history")
     public Result<Page<ApplicationHistoryVo>> getMyHistoryApplications(
@@ -79,8 +91,8 @@ public class ApplicationController {
             @RequestParam(required = false) Integer leaveType,
             @RequestParam(required = false) Integer expenseType,
             @RequestParam(required = false) Integer status,
-            @RequestHeader("Authorization") String token) {
-        Long userId = getUserIdFromToken(token);
+            @CurrentUser LoginUser loginUser) {
+        Long userId = loginUser.getUserId();
         Page<ApplicationHistoryVo> page = applicationService.getMyHistoryApplications(userId, pageNum, pageSize,
             appType, startTime, endTime, approverName, leaveType, expenseType, status);
         return Result.success(page);
@@ -88,16 +100,16 @@ public class ApplicationController {
 
     @Operation(summary = "获取申请统计")
     @GetMapping("/summary")
-    public Result<ApplicationSummaryVo> getMySummary(@RequestHeader("Authorization") String token) {
-        Long userId = getUserIdFromToken(token);
+    public Result<ApplicationSummaryVo> getMySummary(@CurrentUser LoginUser loginUser) {
+        Long userId = loginUser.getUserId();
         ApplicationSummaryVo summary = applicationService.getMySummary(userId);
         return Result.success(summary);
     }
 
     @Operation(summary = "查询申请详情")
     @GetMapping("/{appId}")
-    public Result<Object> getApplicationDetail(@PathVariable Long appId) {
-        Object detail = applicationService.getApplicationDetail(appId);
+    public Result<ApplicationDetailVo> getApplicationDetail(@PathVariable Long appId) {
+        ApplicationDetailVo detail = applicationService.getApplicationDetail(appId);
         return Result.success(detail);
     }
 
@@ -105,20 +117,9 @@ public class ApplicationController {
     @PutMapping("/withdraw/{appId}")
     public Result<Void> withdrawApplication(
             @PathVariable Long appId,
-            @RequestHeader("Authorization") String token) {
-        Long userId = getUserIdFromToken(token);
+            @CurrentUser LoginUser loginUser) {
+        Long userId = loginUser.getUserId();
         applicationService.withdrawApplication(appId, userId);
         return Result.success();
     }
-
-    /**
-     * 从Token中获取用户ID
-     */
-    private Long getUserIdFromToken(String token) {
-        String actualToken = token.replace("Bearer ", "");
-        String username = jwtUtils.getUsernameFromToken(actualToken);
-        User user = userMapper.selectOne(
-                new LambdaQueryWrapper<User>().eq(User::getUsername, username));
-        return user != null ? user.getUserId() : null;
-    }
 }
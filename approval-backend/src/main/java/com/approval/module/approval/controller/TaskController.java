@@ -1,19 +1,24 @@
 package com.approval.module.approval.controller;
 
+import com.approval.common.result.CursorPage;
 import com.approval.common.result.Result;
-import com.approval.common.utils.JwtUtils;
+import com.approval.common.security.CurrentUser;
+import com.approval.common.security.LoginUser;
 import com.approval.module.approval.dto.ApproveTaskDto;
+import com.approval.module.approval.dto.BatchApproveTaskDto;
 import com.approval.module.approval.service.ITaskService;
+import com.approval.module.approval.support.TodoEventHub;
+import com.approval.module.approval.vo.BatchApproveResultVo;
 import com.approval.module.approval.vo.TaskVo;
-import com.approval.module.system.entity.User;
-import com.approval.module.system.mapper.UserMapper;
-import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 /**
  * 任务管理控制器
@@ -25,49 +30,77 @@ import org.springframework.web.bind.annotation.*;
 public class TaskController {
 
     private final ITaskService taskService;
-    private final JwtUtils jwtUtils;
-    private final UserMapper userMapper;
+    private final TodoEventHub todoEventHub;
 
     @Operation(summary = "查询待办任务")
     @GetMapping("/todo")
     public Result<Page<TaskVo>> getTodoTasks(
             @RequestParam(defaultValue = "1") Integer pageNum,
             @RequestParam(defaultValue = "10") Integer pageSize,
-            @RequestHeader("Authorization") String token) {
-        Long userId = getUserIdFromToken(token);
+            @CurrentUser LoginUser loginUser) {
+        Long userId = loginUser.getUserId();
         Page<TaskVo> page = taskService.getTodoTasks(userId, pageNum, pageSize);
         return Result.success(page);
     }
 
+    @Operation(summary = "游标分页查询待办任务")
+    @GetMapping("/todo/cursor")
+    public Result<CursorPage<TaskVo>> getTodoTasksByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") Integer pageSize,
+            @CurrentUser LoginUser loginUser) {
+        Long userId = loginUser.getUserId();
+        CursorPage<TaskVo> page = taskService.getTodoTasksByCursor(userId, cursor, pageSize);
+        return Result.success(page);
+    }
+
+    @Operation(summary = "订阅待办变更（SSE）")
+    @GetMapping(value = "/todo/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribeTodo(@CurrentUser LoginUser loginUser, HttpServletResponse response) {
+        // 关闭反向代理（Nginx）的响应缓冲，事件即时到达
+        response.setHeader("X-Accel-Buffering", "no");
+        return todoEventHub.subscribe(loginUser);
+    }
+
     @Operation(summary = "审批任务")
     @PostMapping("/approve")
     public Result<Void> approveTask(
             @Valid @RequestBody ApproveTaskDto dto,
-            @RequestHeader("Authorization") String token) {
-        Long userId = getUserIdFromToken(token);
+            @CurrentUser LoginUser loginUser) {
+        Long userId = loginUser.getUserId();
         taskService.approveTask(dto, userId);
         return Result.success();
     }
 
+    @Operation(summary = "批量审批任务")
+    @PostMapping("/approve/batch")
+    public Result<BatchApproveResultVo> batchApproveTasks(
+            @Valid @RequestBody BatchApproveTaskDto dto,
+            @CurrentUser LoginUser loginUser) {
+        Long userId = loginUser.getUserId();
+        BatchApproveResultVo result = taskService.batchApproveTasks(dto, userId);
+        return Result.success(result);
+    }
+
     @Operation(summary = "查询已办任务")
     @GetMapping("/done")
     public Result<Page<TaskVo>> getDoneTasks(
             @RequestParam(defaultValue = "1") Integer pageNum,
             @RequestParam(defaultValue = "10") Integer pageSize,
-            @RequestHeader("Authorization") String token) {
-        Long userId = getUserIdFromToken(token);
+            @CurrentUser LoginUser loginUser) {
+        Long userId = loginUser.getUserId();
         Page<TaskVo> page = taskService.getDoneTasks(userId, pageNum, pageSize);
         return Result.success(page);
     }
 
-    /**
-     * 从Token中获取用户ID
-     */
-    private Long getUserIdFromToken(String token) {
-        String actualToken = token.replace("Bearer ", "");
-        String username = jwtUtils.getUsernameFromToken(actualToken);
-        User user = userMapper.selectOne(
-                new LambdaQueryWrapper<User>().eq(User::getUsername, username));
-        return user != null ? user.getUserId() : null;
+    @Operation(summary = "游标分页查询已办任务")
+    @GetMapping("/done/cursor")
+    public Result<CursorPage<TaskVo>> getDoneTasksByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") Integer pageSize,
+            @CurrentUser LoginUser loginUser) {
+        Long userId = loginUser.getUserId();
+        CursorPage<TaskVo> page = taskService.getDoneTasksByCursor(userId, cursor, pageSize);
+        return Result.success(page);
     }
 }
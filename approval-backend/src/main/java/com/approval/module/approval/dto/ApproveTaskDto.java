@@ -1,5 +1,7 @@
 package com.approval.module.approval.dto;
 
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
 import lombok.Data;
 
@@ -13,6 +15,8 @@ public class ApproveTaskDto {
     private Long taskId;
 
     @NotNull(message = "审批动作不能为空")
+    @Min(value = 1, message = "审批动作只能为同意或拒绝")
+    @Max(value = 2, message = "审批动作只能为同意或拒绝")
     private Integer action; // 1=同意 2=拒绝
 
     private String comment; // 审批意见（选填）
@@ -0,0 +1,28 @@
+package com.approval.module.approval.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * 批量审批任务DTO
+ */
+@Data
+public class BatchApproveTaskDto {
+
+    @NotEmpty(message = "任务ID不能为空")
+    @Size(max = 500, message = "单次最多审批500个任务")
+    private List<Long> taskIds;
+
+    @NotNull(message = "审批动作不能为空")
+    @Min(value = 1, message = "审批动作只能为同意或拒绝")
+    @Max(value = 2, message = "审批动作只能为同意或拒绝")
+    private Integer action; // 1=同意 2=拒绝
+
+    private String comment; // 审批意见（选填）
+}
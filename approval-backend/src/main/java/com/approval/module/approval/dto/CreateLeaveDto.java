@@ -31,5 +31,5 @@ public class CreateLeaveDto {
     @NotBlank(message = "请假事由不能为空")
     private String reason;
 
-    private String attachment; // 附件地址
+    private String attachment; // 附件文件ID（先调用 /file/upload 上传）
 }
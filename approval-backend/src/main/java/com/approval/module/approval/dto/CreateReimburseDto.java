@@ -24,7 +24,7 @@ public class CreateReimburseDto {
     private String reason;
 
     @NotBlank(message = "发票附件不能为空")
-    private String invoiceAttachment;
+    private String invoiceAttachment; // 发票文件ID（先调用 /file/upload 上传）
 
     @JsonFormat(pattern = "yyyy-MM-dd")
     private LocalDate occurDate; // 发生日期
@@ -0,0 +1,101 @@
+package com.approval.module.approval.engine;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Predicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 流转条件
+ * 加载模板时编译为谓词，运行时只做取值比较。语法：变量 比较符 常量，可用 && / || 组合（&& 优先），
+ * 例如 {@code amount > 5000}、{@code days >= 3 && leaveType == 2}、{@code appType == 'leave'}
+ */
+public final class Condition {
+
+    private static final Pattern COMPARISON = Pattern.compile(
+            "^\\s*([A-Za-z_][A-Za-z0-9_]*)\\s*(>=|<=|==|!=|>|<)\\s*('([^']*)'|-?\\d+(\\.\\d+)?)\\s*$");
+
+    private final String expression;
+    private final Predicate<Map<String, Object>> predicate;
+
+    private Condition(String expression, Predicate<Map<String, Object>> predicate) {
+        this.expression = expression;
+        this.predicate = predicate;
+    }
+
+    /**
+     * 编译条件表达式，语法错误时抛出 IllegalArgumentException
+     */
+    public static Condition compile(String expression) {
+        List<Predicate<Map<String, Object>>> any = new ArrayList<>();
+        for (String orPart : expression.split("\\|\\|")) {
+            Predicate<Map<String, Object>> all = variables -> true;
+            for (String andPart : orPart.split("&&")) {
+                all = all.and(comparison(andPart, expression));
+            }
+            any.add(all);
+        }
+        Predicate<Map<String, Object>> predicate = any.stream().reduce(variables -> false, Predicate::or);
+        return new Condition(expression, predicate);
+    }
+
+    public boolean test(Map<String, Object> variables) {
+        return predicate.test(variables);
+    }
+
+    public String getExpression() {
+        return expression;
+    }
+
+    private static Predicate<Map<String, Object>> comparison(String part, String expression) {
+        Matcher matcher = COMPARISON.matcher(part);
+        if (!matcher.matches()) {
+            throw new IllegalArgumentException("无法解析的流转条件：" + expression);
+        }
+        String variable = matcher.group(1);
+        String operator = matcher.group(2);
+
+        if (matcher.group(4) != null) {
+            String expected = matcher.group(4);
+            if (!"==".equals(operator) && !"!=".equals(operator)) {
+                throw new IllegalArgumentException("字符串只支持 == 与 != 比较：" + expression);
+            }
+            boolean equals = "==".equals(operator);
+            return variables -> {
+                Object value = variables.get(variable);
+                return value != null && Objects.equals(value.toString(), expected) == equals;
+            };
+        }
+
+        BigDecimal expected = new BigDecimal(matcher.group(3));
+        return variables -> {
+            BigDecimal value = toDecimal(variables.get(variable));
+            if (value == null) {
+                return false;
+            }
+            int cmp = value.compareTo(expected);
+            return switch (operator) {
+                case ">" -> cmp > 0;
+                case ">=" -> cmp >= 0;
+                case "<" -> cmp < 0;
+                case "<=" -> cmp <= 0;
+                case "==" -> cmp == 0;
+                default -> cmp != 0;
+            };
+        };
+    }
+
+    private static BigDecimal toDecimal(Object value) {
+        if (value instanceof BigDecimal decimal) {
+            return decimal;
+        }
+        if (value instanceof Number number) {
+            return new BigDecimal(number.toString());
+        }
+        return null;
+    }
+}
@@ -0,0 +1,49 @@
+package com.approval.module.approval.engine;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * 编译后的流程定义（不可变），运行时流转只读内存，不再查询模板表
+ */
+public final class ProcessDefinition {
+
+    /** 结束节点标识 */
+    public static final String END = "end";
+
+    private final String key;
+    private final ProcessNode startNode;
+    private final Map<String, ProcessNode> nodesById;
+    private final Map<String, ProcessNode> nodesByName;
+
+    ProcessDefinition(String key, ProcessNode startNode, Map<String, ProcessNode> nodesById,
+                      Map<String, ProcessNode> nodesByName) {
+        this.key = key;
+        this.startNode = startNode;
+        this.nodesById = Collections.unmodifiableMap(nodesById);
+        this.nodesByName = Collections.unmodifiableMap(nodesByName);
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public ProcessNode getStartNode() {
+        return startNode;
+    }
+
+    /**
+     * 按节点名称查找（任务表只记录节点名称），模板已删除该节点时返回 null
+     */
+    public ProcessNode getNodeByName(String name) {
+        return name == null ? null : nodesByName.get(name);
+    }
+
+    /**
+     * 计算下一节点，返回 null 表示流程结束
+     */
+    public ProcessNode next(ProcessNode current, Map<String, Object> variables) {
+        String nextId = current.nextNodeId(variables);
+        return END.equals(nextId) ? null : nodesById.get(nextId);
+    }
+}
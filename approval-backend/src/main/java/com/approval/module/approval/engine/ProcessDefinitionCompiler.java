@@ -0,0 +1,117 @@
+package com.approval.module.approval.engine;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 流程配置编译器
+ * 将 bpm_process_template.process_config 的 JSON 解析、校验并编译为不可变的流程定义：
+ * <pre>
+ * {
+ *   "startNode": "deptManager",
+ *   "nodes": [
+ *     {"id": "deptManager", "name": "部门经理审批", "assigneeId": 2, "assigneeName": "技术部经理",
+ *      "transitions": [{"to": "finance", "condition": "amount > 5000"}, {"to": "end"}]},
+ *     {"id": "finance", "name": "财务审批", "assigneeId": 3, "assigneeName": "财务经理",
+ *      "transitions": [{"to": "end"}]}
+ *   ]
+ * }
+ * </pre>
+ */
+@Component
+@RequiredArgsConstructor
+public class ProcessDefinitionCompiler {
+
+    private final ObjectMapper objectMapper;
+
+    /**
+     * 编译流程配置，配置不合法时抛出 IllegalArgumentException
+     */
+    public ProcessDefinition compile(String key, String json) {
+        ProcessConfig config;
+        try {
+            config = objectMapper.readValue(json, ProcessConfig.class);
+        } catch (Exception e) {
+            throw new IllegalArgumentException("流程配置不是合法的 JSON：" + key, e);
+        }
+        return compile(key, config);
+    }
+
+    public ProcessDefinition compile(String key, ProcessConfig config) {
+        if (config.getNodes() == null || config.getNodes().isEmpty()) {
+            throw new IllegalArgumentException("流程没有配置节点：" + key);
+        }
+
+        Map<String, NodeConfig> configs = new HashMap<>();
+        for (NodeConfig node : config.getNodes()) {
+            if (node.getId() == null || ProcessDefinition.END.equals(node.getId())) {
+                throw new IllegalArgumentException("节点ID为空或使用了保留字 end：" + key);
+            }
+            if (node.getName() == null || node.getAssigneeId() == null) {
+                throw new IllegalArgumentException("节点缺少名称或审批人：" + key + "/" + node.getId());
+            }
+            if (configs.put(node.getId(), node) != null) {
+                throw new IllegalArgumentException("节点ID重复：" + key + "/" + node.getId());
+            }
+        }
+
+        Map<String, ProcessNode> nodesById = new HashMap<>();
+        Map<String, ProcessNode> nodesByName = new HashMap<>();
+        for (NodeConfig node : config.getNodes()) {
+            List<ProcessNode.Transition> transitions = new ArrayList<>();
+            if (node.getTransitions() != null) {
+                for (TransitionConfig transition : node.getTransitions()) {
+                    String to = transition.getTo();
+                    if (to == null || (!ProcessDefinition.END.equals(to) && !configs.containsKey(to))) {
+                        throw new IllegalArgumentException("流转目标不存在：" + key + "/" + node.getId() + " -> " + to);
+                    }
+                    String condition = transition.getCondition();
+                    transitions.add(new ProcessNode.Transition(to,
+                            condition == null || condition.isBlank() ? null : Condition.compile(condition)));
+                }
+            }
+
+            ProcessNode processNode = new ProcessNode(node.getId(), node.getName(), node.getAssigneeId(),
+                    node.getAssigneeName(), transitions);
+            nodesById.put(node.getId(), processNode);
+            if (nodesByName.put(node.getName(), processNode) != null) {
+                throw new IllegalArgumentException("节点名称重复：" + key + "/" + node.getName());
+            }
+        }
+
+        String startId = config.getStartNode() != null ? config.getStartNode() : config.getNodes().get(0).getId();
+        ProcessNode startNode = nodesById.get(startId);
+        if (startNode == null) {
+            throw new IllegalArgumentException("开始节点不存在：" + key + "/" + startId);
+        }
+        return new ProcessDefinition(key, startNode, nodesById, nodesByName);
+    }
+
+    @Data
+    public static class ProcessConfig {
+        private String startNode;
+        private List<NodeConfig> nodes;
+    }
+
+    @Data
+    public static class NodeConfig {
+        private String id;
+        private String name;
+        private Long assigneeId;
+        private String assigneeName;
+        private List<TransitionConfig> transitions;
+    }
+
+    @Data
+    public static class TransitionConfig {
+        private String to;
+        private String condition;
+    }
+}
@@ -0,0 +1,145 @@
+package com.approval.module.approval.engine;
+
+import com.approval.common.exception.BusinessException;
+import com.approval.module.approval.entity.Application;
+import com.approval.module.approval.entity.ProcessTemplate;
+import com.approval.module.approval.entity.Task;
+import com.approval.module.approval.mapper.ProcessTemplateMapper;
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * 流程引擎
+ * 按模板标识（即申请类型）缓存编译后的流程定义，定期比对模板指纹热加载；
+ * 未配置模板或配置不合法的类型使用内置默认流程（部门经理审批后结束）
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProcessEngine {
+
+    private final ProcessTemplateMapper processTemplateMapper;
+    private final ProcessDefinitionCompiler compiler;
+
+    private volatile Map<String, ProcessDefinition> definitions = Collections.emptyMap();
+    private volatile String fingerprint;
+    private ProcessDefinition defaultDefinition;
+
+    @PostConstruct
+    public void init() {
+        ProcessDefinitionCompiler.NodeConfig node = new ProcessDefinitionCompiler.NodeConfig();
+        node.setId("deptManager");
+        node.setName("部门经理审批");
+        node.setAssigneeId(2L);
+        node.setAssigneeName("技术部经理");
+        ProcessDefinitionCompiler.ProcessConfig config = new ProcessDefinitionCompiler.ProcessConfig();
+        config.setNodes(List.of(node));
+        defaultDefinition = compiler.compile("default", config);
+
+        reload();
+    }
+
+    /**
+     * 模板有变更（新增、修改、删除）时重新加载
+     */
+    @Scheduled(fixedDelayString = "${approval.process.reload-interval:30000}")
+    public void reloadIfChanged() {
+        try {
+            if (!Objects.equals(fingerprint, processTemplateMapper.selectFingerprint())) {
+                reload();
+            }
+        } catch (Exception e) {
+            log.warn("检查流程模板变更失败", e);
+        }
+    }
+
+    /**
+     * 重新加载全部启用的模板；单个模板编译失败时沿用其旧定义，不影响其他模板
+     */
+    public synchronized void reload() {
+        String newFingerprint = processTemplateMapper.selectFingerprint();
+        List<ProcessTemplate> templates = processTemplateMapper.selectList(new LambdaQueryWrapper<ProcessTemplate>()
+                .eq(ProcessTemplate::getStatus, 1));
+
+        Map<String, ProcessDefinition> loaded = new HashMap<>();
+        for (ProcessTemplate template : templates) {
+            if (template.getProcessConfig() == null || template.getProcessConfig().isBlank()) {
+                continue;
+            }
+            try {
+                loaded.put(template.getTemplateKey(),
+                        compiler.compile(template.getTemplateKey(), template.getProcessConfig()));
+            } catch (IllegalArgumentException e) {
+                log.error("流程模板编译失败，沿用原定义：{}", template.getTemplateKey(), e);
+                ProcessDefinition previous = definitions.get(template.getTemplateKey());
+                if (previous != null) {
+                    loaded.put(template.getTemplateKey(), previous);
+                }
+            }
+        }
+
+        definitions = Collections.unmodifiableMap(loaded);
+        fingerprint = newFingerprint;
+        log.info("流程模板已加载：{}", loaded.keySet());
+    }
+
+    public ProcessDefinition getDefinition(String appType) {
+        return definitions.getOrDefault(appType, defaultDefinition);
+    }
+
+    /**
+     * 申请提交后的首个审批节点
+     */
+    public ProcessNode start(String appType) {
+        return getDefinition(appType).getStartNode();
+    }
+
+    /**
+     * 当前节点审批通过后的下一节点，返回 null 表示流程结束。
+     * 只有当前节点存在条件流转时才获取业务变量；节点已从模板中移除时无法确定去向，拒绝流转
+     */
+    public ProcessNode next(Application application, String currentNodeName,
+                            Supplier<Map<String, Object>> variables) {
+        ProcessDefinition definition = getDefinition(application.getAppType());
+        ProcessNode current = definition.getNodeByName(currentNodeName);
+        if (current == null) {
+            log.warn("流程节点不存在，拒绝流转：appId={}, node={}", application.getAppId(), currentNodeName);
+            throw new BusinessException("流程定义已变更，当前节点不存在，请联系管理员");
+        }
+        return definition.next(current, current.isConditional() ? variables.get() : Collections.emptyMap());
+    }
+
+    /**
+     * 当前节点的流转是否依赖业务变量
+     */
+    public boolean isConditional(Application application, String currentNodeName) {
+        ProcessNode current = getDefinition(application.getAppType()).getNodeByName(currentNodeName);
+        return current != null && current.isConditional();
+    }
+
+    /**
+     * 为指定节点生成待办任务（未入库）
+     */
+    public Task newTask(Application application, ProcessNode node) {
+        Task task = new Task();
+        task.setAppId(application.getAppId());
+        task.setNodeName(node.getName());
+        task.setAssigneeId(node.getAssigneeId());
+        task.setAssigneeName(node.getAssigneeName());
+        task.setStatus(0);
+        task.setCreateTime(LocalDateTime.now());
+        return task;
+    }
+}
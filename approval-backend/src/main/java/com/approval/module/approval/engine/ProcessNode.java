@@ -0,0 +1,86 @@
+package com.approval.module.approval.engine;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 流程节点（不可变）
+ */
+public final class ProcessNode {
+
+    private final String id;
+    private final String name;
+    private final Long assigneeId;
+    private final String assigneeName;
+    private final List<Transition> transitions;
+    private final boolean conditional;
+
+    ProcessNode(String id, String name, Long assigneeId, String assigneeName, List<Transition> transitions) {
+        this.id = id;
+        this.name = name;
+        this.assigneeId = assigneeId;
+        this.assigneeName = assigneeName;
+        this.transitions = List.copyOf(transitions);
+        this.conditional = transitions.stream().anyMatch(transition -> transition.condition() != null);
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Long getAssigneeId() {
+        return assigneeId;
+    }
+
+    public String getAssigneeName() {
+        return assigneeName;
+    }
+
+    /**
+     * 流转是否依赖业务变量（无条件时无需查询申请详情）
+     */
+    public boolean isConditional() {
+        return conditional;
+    }
+
+    /**
+     * 按顺序取第一个满足条件的流转目标，无条件的流转视为默认分支；都不满足时结束
+     */
+    String nextNodeId(Map<String, Object> variables) {
+        for (Transition transition : transitions) {
+            if (transition.condition() == null || transition.condition().test(variables)) {
+                return transition.to();
+            }
+        }
+        return ProcessDefinition.END;
+    }
+
+    /**
+     * 流转
+     */
+    static final class Transition {
+
+        /** 目标节点ID，end 表示结束 */
+        private final String to;
+
+        /** 条件，null 表示无条件 */
+        private final Condition condition;
+
+        Transition(String to, Condition condition) {
+            this.to = to;
+            this.condition = condition;
+        }
+
+        String to() {
+            return to;
+        }
+
+        Condition condition() {
+            return condition;
+        }
+    }
+}
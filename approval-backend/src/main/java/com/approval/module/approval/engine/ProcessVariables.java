@@ -0,0 +1,79 @@
+package com.approval.module.approval.engine;
+
+import com.approval.module.approval.entity.Application;
+import com.approval.module.approval.entity.LeaveApplication;
+import com.approval.module.approval.entity.ReimburseApplication;
+import com.approval.module.approval.mapper.LeaveApplicationMapper;
+import com.approval.module.approval.mapper.ReimburseApplicationMapper;
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * 流转条件可用的业务变量：appType、applicantId、deptId，
+ * 请假单另有 leaveType、days，报销单另有 expenseType、amount
+ */
+@Component
+@RequiredArgsConstructor
+public class ProcessVariables {
+
+    private final LeaveApplicationMapper leaveApplicationMapper;
+    private final ReimburseApplicationMapper reimburseApplicationMapper;
+
+    public Map<String, Object> load(Application application) {
+        return loadAll(List.of(application)).get(application.getAppId());
+    }
+
+    /**
+     * 批量加载，请假、报销详情各一次 IN 查询
+     */
+    public Map<Long, Map<String, Object>> loadAll(Collection<Application> applications) {
+        Map<Long, Map<String, Object>> result = new HashMap<>();
+        for (Application app : applications) {
+            Map<String, Object> variables = new HashMap<>();
+            variables.put("appType", app.getAppType());
+            variables.put("applicantId", app.getApplicantId());
+            variables.put("deptId", app.getDeptId());
+            result.put(app.getAppId(), variables);
+        }
+
+        List<Long> leaveIds = appIdsOfType(applications, "leave");
+        if (!leaveIds.isEmpty()) {
+            leaveApplicationMapper.selectList(new LambdaQueryWrapper<LeaveApplication>()
+                            .select(LeaveApplication::getAppId, LeaveApplication::getLeaveType, LeaveApplication::getDays)
+                            .in(LeaveApplication::getAppId, leaveIds))
+                    .forEach(leave -> {
+                        Map<String, Object> variables = result.get(leave.getAppId());
+                        variables.put("leaveType", leave.getLeaveType());
+                        variables.put("days", leave.getDays());
+                    });
+        }
+
+        List<Long> reimburseIds = appIdsOfType(applications, "reimburse");
+        if (!reimburseIds.isEmpty()) {
+            reimburseApplicationMapper.selectList(new LambdaQueryWrapper<ReimburseApplication>()
+                            .select(ReimburseApplication::getAppId, ReimburseApplication::getExpenseType,
+                                    ReimburseApplication::getAmount)
+                            .in(ReimburseApplication::getAppId, reimburseIds))
+                    .forEach(reimburse -> {
+                        Map<String, Object> variables = result.get(reimburse.getAppId());
+                        variables.put("expenseType", reimburse.getExpenseType());
+                        variables.put("amount", reimburse.getAmount());
+                    });
+        }
+        return result;
+    }
+
+    private List<Long> appIdsOfType(Collection<Application> applications, String appType) {
+        return applications.stream()
+                .filter(app -> appType.equals(app.getAppType()))
+                .map(Application::getAppId)
+                .collect(Collectors.toList());
+    }
+}
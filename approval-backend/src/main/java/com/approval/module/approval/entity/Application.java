@@ -4,6 +4,7 @@ import com.baomidou.mybatisplus.annotation.IdType;
 import com.baomidou.mybatisplus.annotation.TableId;
 import com.baomidou.mybatisplus.annotation.TableLogic;
 import com.baomidou.mybatisplus.annotation.TableName;
+import com.baomidou.mybatisplus.annotation.Version;
 import lombok.Data;
 
 import java.time.LocalDateTime;
@@ -32,6 +33,9 @@ public class Application {
 
     private String currentNode;
 
+    @Version
+    private Integer version; // 乐观锁版本号
+
     private LocalDateTime submitTime;
 
     private LocalDateTime finishTime;
@@ -0,0 +1,37 @@
+package com.approval.module.approval.entity;
+
+import com.baomidou.mybatisplus.annotation.IdType;
+import com.baomidou.mybatisplus.annotation.TableId;
+import com.baomidou.mybatisplus.annotation.TableName;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * 事务发件箱表
+ */
+@Data
+@TableName("bpm_outbox")
+public class Outbox {
+
+    @TableId(type = IdType.AUTO)
+    private Long outboxId;
+
+    private String eventType;
+
+    private Long aggregateId; // 申请ID
+
+    private String payload; // 事件内容（JSON）
+
+    private Integer status; // 0=待投递 1=已投递 2=投递失败
+
+    private Integer retryCount;
+
+    private LocalDateTime nextRetryTime;
+
+    private String lastError;
+
+    private LocalDateTime createTime;
+
+    private LocalDateTime processedTime;
+}
@@ -0,0 +1,35 @@
+package com.approval.module.approval.entity;
+
+import com.baomidou.mybatisplus.annotation.IdType;
+import com.baomidou.mybatisplus.annotation.TableId;
+import com.baomidou.mybatisplus.annotation.TableLogic;
+import com.baomidou.mybatisplus.annotation.TableName;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * 流程模板表
+ */
+@Data
+@TableName("bpm_process_template")
+public class ProcessTemplate {
+
+    @TableId(type = IdType.AUTO)
+    private Long templateId;
+
+    private String templateName;
+
+    private String templateKey; // 与申请类型一致：leave, reimburse
+
+    private String processConfig; // 流程配置（JSON）
+
+    private Integer status; // 0=禁用 1=启用
+
+    @TableLogic
+    private Integer delFlag;
+
+    private LocalDateTime createTime;
+
+    private LocalDateTime updateTime;
+}
@@ -1,6 +1,7 @@
 package com.approval.module.approval.entity;
 
 import com.baomidou.mybatisplus.annotation.IdType;
+import com.baomidou.mybatisplus.annotation.TableField;
 import com.baomidou.mybatisplus.annotation.TableId;
 import com.baomidou.mybatisplus.annotation.TableName;
 import lombok.Data;
@@ -27,7 +28,8 @@ public class ReimburseApplication {
 
     private String reason;
 
-    private String invoiceAttachment;
+    @TableField(select = false) // 历史数据可能是大段 Base64，默认不查询，详情页通过 Mapper 读取完整记录
+    private String invoiceAttachment; // 发票文件ID
 
     private LocalDate occurDate;
 
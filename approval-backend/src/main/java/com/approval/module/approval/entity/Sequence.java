@@ -0,0 +1,23 @@
+package com.approval.module.approval.entity;
+
+import com.baomidou.mybatisplus.annotation.IdType;
+import com.baomidou.mybatisplus.annotation.TableId;
+import com.baomidou.mybatisplus.annotation.TableName;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * 号段序列表
+ */
+@Data
+@TableName("bpm_sequence")
+public class Sequence {
+
+    @TableId(type = IdType.INPUT)
+    private String seqName;
+
+    private Long maxValue; // 已分配出去的最大值
+
+    private LocalDateTime updateTime;
+}
@@ -0,0 +1,42 @@
+package com.approval.module.approval.entity;
+
+import com.baomidou.mybatisplus.annotation.IdType;
+import com.baomidou.mybatisplus.annotation.TableId;
+import com.baomidou.mybatisplus.annotation.TableName;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * 用户申请统计表
+ */
+@Data
+@TableName("bpm_user_stats")
+public class UserStats {
+
+    @TableId(type = IdType.INPUT)
+    private Long userId;
+
+    private Long totalCount;
+
+    private Long pendingCount;
+
+    private Long approvedCount;
+
+    private Long rejectedCount;
+
+    private Long withdrawnCount;
+
+    private Long leaveCount;
+
+    private Long reimburseCount;
+
+    private BigDecimal approvedLeaveDays; // 已通过的请假天数
+
+    private BigDecimal approvedReimburseAmount; // 已通过的报销金额
+
+    private LocalDateTime lastSubmitTime;
+
+    private LocalDateTime updateTime;
+}
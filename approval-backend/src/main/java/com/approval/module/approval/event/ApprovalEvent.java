@@ -0,0 +1,96 @@
+package com.approval.module.approval.event;
+
+import com.approval.module.approval.entity.Application;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 审批领域事件
+ * 随状态变更写入发件箱（bpm_outbox），由转发任务投递给统计、缓存、待办推送、审计等消费者
+ */
+@Data
+public class ApprovalEvent {
+
+    /** 申请提交 */
+    public static final String SUBMITTED = "application.submitted";
+
+    /** 申请状态变更（审批、撤回） */
+    public static final String STATUS_CHANGED = "application.status-changed";
+
+    /** 流转到下一审批节点，生成新待办 */
+    public static final String TASK_ASSIGNED = "application.task-assigned";
+
+    /** 发件箱事件ID，投递时回填，不参与序列化 */
+    @JsonIgnore
+    private Long outboxId;
+
+    private String eventType;
+
+    private Long appId;
+
+    private String appType;
+
+    private Long applicantId;
+
+    private Integer fromStatus;
+
+    private Integer toStatus;
+
+    private Long operatorId;
+
+    /** 新增或结束的待办任务 */
+    private List<Long> taskIds;
+
+    private LocalDateTime occurTime;
+
+    public static ApprovalEvent submitted(Application application, Long taskId) {
+        ApprovalEvent event = of(SUBMITTED, application, null, application.getApplicantId());
+        event.setTaskIds(List.of(taskId));
+        event.setOccurTime(application.getSubmitTime());
+        return event;
+    }
+
+    public static ApprovalEvent statusChanged(Application application, Integer fromStatus, Long operatorId,
+                                              List<Long> taskIds) {
+        ApprovalEvent event = of(STATUS_CHANGED, application, fromStatus, operatorId);
+        event.setTaskIds(taskIds);
+        return event;
+    }
+
+    public static ApprovalEvent taskAssigned(Application application, Long operatorId, Long taskId) {
+        ApprovalEvent event = of(TASK_ASSIGNED, application, application.getStatus(), operatorId);
+        event.setTaskIds(List.of(taskId));
+        return event;
+    }
+
+    private static ApprovalEvent of(String eventType, Application application, Integer fromStatus, Long operatorId) {
+        ApprovalEvent event = new ApprovalEvent();
+        event.setEventType(eventType);
+        event.setAppId(application.getAppId());
+        event.setAppType(application.getAppType());
+        event.setApplicantId(application.getApplicantId());
+        event.setFromStatus(fromStatus);
+        event.setToStatus(application.getStatus());
+        event.setOperatorId(operatorId);
+        event.setTaskIds(Collections.emptyList());
+        event.setOccurTime(LocalDateTime.now());
+        return event;
+    }
+
+    /**
+     * 还原出统计等消费者需要的申请字段
+     */
+    public Application toApplication() {
+        Application application = new Application();
+        application.setAppId(appId);
+        application.setAppType(appType);
+        application.setApplicantId(applicantId);
+        application.setStatus(toStatus);
+        application.setSubmitTime(occurTime);
+        return application;
+    }
+}
@@ -0,0 +1,35 @@
+package com.approval.module.approval.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * 待办任务变更事件
+ * 由发件箱消费者在投递事务内发布，提交后推送给订阅待办的审批人
+ */
+@Getter
+@AllArgsConstructor
+public class TodoChangedEvent {
+
+    public static final String TASK_ADDED = "task-added";
+    public static final String TASK_REMOVED = "task-removed";
+
+    /** 事件类型：task-added / task-removed */
+    private final String type;
+
+    /** 变更的任务ID（撤回等按申请删除任务的场景可能为空） */
+    private final List<Long> taskIds;
+
+    /** 关联的申请ID */
+    private final List<Long> appIds;
+
+    public static TodoChangedEvent added(Long taskId, Long appId) {
+        return new TodoChangedEvent(TASK_ADDED, List.of(taskId), List.of(appId));
+    }
+
+    public static TodoChangedEvent removed(List<Long> taskIds, List<Long> appIds) {
+        return new TodoChangedEvent(TASK_REMOVED, taskIds, appIds);
+    }
+}
@@ -1,12 +1,127 @@
 package com.approval.module.approval.mapper;
 
 import com.approval.module.approval.entity.Application;
+import com.approval.module.approval.vo.ApplicationHistoryVo;
+import com.approval.module.approval.vo.ApplicationSummaryVo;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.baomidou.mybatisplus.core.metadata.IPage;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.annotations.Update;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 
 /**
  * 申请Mapper
  */
 @Mapper
 public interface ApplicationMapper extends BaseMapper<Application> {
+
+    /**
+     * 分页查询审批历史
+     * 关联请假/报销详情及每个申请最新的一条审批记录，过滤与分页均在数据库完成
+     */
+    @Select("<script>" +
+            "SELECT a.app_id, a.app_no, a.app_type, a.title, a.status, a.current_node, " +
+            "a.submit_time, a.finish_time, " +
+            "l.leave_type, l.days AS leave_days, r.expense_type, r.amount AS expense_amount, " +
+            "h.approver_name, h.action, h.comment, h.approve_time " +
+            "FROM bpm_application a " +
+            "LEFT JOIN bpm_leave_application l ON a.app_type = 'leave' AND l.app_id = a.app_id " +
+            "LEFT JOIN bpm_reimburse_application r ON a.app_type = 'reimburse' AND r.app_id = a.app_id " +
+            "LEFT JOIN bpm_history h ON h.history_id = (" +
+            "SELECT h2.history_id FROM bpm_history h2 WHERE h2.app_id = a.app_id " +
+            "ORDER BY h2.approve_time DESC, h2.history_id DESC LIMIT 1) " +
+            "WHERE a.applicant_id = #{userId} AND a.del_flag = 0 " +
+            "<choose>" +
+            "<when test='status != null'>AND a.status = #{status} </when>" +
+            "<otherwise>AND a.status IN " +
+            "<foreach collection='historyStatuses' item='item' open='(' separator=',' close=')'>#{item}</foreach> " +
+            "</otherwise>" +
+            "</choose>" +
+            "<if test='appType != null and appType != \"\"'>AND a.app_type = #{appType} </if>" +
+            "<if test='startTime != null'>AND a.submit_time &gt;= #{startTime} </if>" +
+            "<if test='endTime != null'>AND a.submit_time &lt;= #{endTime} </if>" +
+            "<if test='leaveType != null'>AND (a.app_type != 'leave' OR l.leave_type = #{leaveType}) </if>" +
+            "<if test='expenseType != null'>AND (a.app_type != 'reimburse' OR r.expense_type = #{expenseType}) </if>" +
+            "<if test='approverName != null and approverName != \"\"'>AND INSTR(h.approver_name, #{approverName}) &gt; 0 </if>" +
+            "ORDER BY a.submit_time DESC, a.app_id DESC" +
+            "</script>")
+    IPage<ApplicationHistoryVo> selectHistoryPage(IPage<ApplicationHistoryVo> page,
+                                                  @Param("userId") Long userId,
+                                                  @Param("historyStatuses") List<Integer> historyStatuses,
+                                                  @Param("status") Integer status,
+                                                  @Param("appType") String appType,
+                                                  @Param("startTime") LocalDateTime startTime,
+                                                  @Param("endTime") LocalDateTime endTime,
+                                                  @Param("leaveType") Integer leaveType,
+                                                  @Param("expenseType") Integer expenseType,
+                                                  @Param("approverName") String approverName);
+
+    /**
+     * 查询指定单号前缀下已使用的最大流水号（含已逻辑删除的申请，走 app_no 唯一索引范围扫描）
+     */
+    @Select("SELECT MAX(CAST(SUBSTRING(app_no, CHAR_LENGTH(#{prefix}) + 1) AS UNSIGNED)) " +
+            "FROM bpm_application WHERE app_no LIKE CONCAT(#{prefix}, '%')")
+    Long selectMaxSerial(@Param("prefix") String prefix);
+
+    /**
+     * 统计用户的申请概览
+     * 单次条件聚合，按状态/类型计数并汇总已通过申请的请假天数与报销金额，内存占用与历史数据量无关
+     */
+    @Select("SELECT COUNT(*) AS total_count, " +
+            "COALESCE(SUM(a.status IN (1, 2)), 0) AS pending_count, " +
+            "COALESCE(SUM(a.status = 3), 0) AS approved_count, " +
+            "COALESCE(SUM(a.status = 4), 0) AS rejected_count, " +
+            "COALESCE(SUM(a.status = 5), 0) AS withdrawn_count, " +
+            "COALESCE(SUM(a.app_type = 'leave'), 0) AS leave_count, " +
+            "COALESCE(SUM(a.app_type = 'reimburse'), 0) AS reimburse_count, " +
+            "COALESCE(SUM(CASE WHEN a.status = 3 THEN l.days END), 0) AS total_leave_days, " +
+            "COALESCE(SUM(CASE WHEN a.status = 3 THEN r.amount END), 0) AS total_reimburse_amount, " +
+            "MAX(a.submit_time) AS last_submit_time " +
+            "FROM bpm_application a " +
+            "LEFT JOIN bpm_leave_application l ON a.app_type = 'leave' AND l.app_id = a.app_id " +
+            "LEFT JOIN bpm_reimburse_application r ON a.app_type = 'reimburse' AND r.app_id = a.app_id " +
+            "WHERE a.applicant_id = #{userId} AND a.del_flag = 0")
+    ApplicationSummaryVo selectSummary(@Param("userId") Long userId);
+
+    /**
+     * 按申请人ID分批查询有申请记录的用户
+     */
+    @Select("SELECT DISTINCT applicant_id FROM bpm_application WHERE applicant_id > #{afterUserId} " +
+            "ORDER BY applicant_id LIMIT #{limit}")
+    List<Long> selectApplicantIds(@Param("afterUserId") Long afterUserId, @Param("limit") int limit);
+
+    /**
+     * 查询申请的更新时间，作为详情缓存的版本号（主键查询，仅取单列）
+     */
+    @Select("SELECT update_time FROM bpm_application WHERE app_id = #{appId} AND del_flag = 0")
+    LocalDateTime selectUpdateTime(@Param("appId") Long appId);
+
+    /**
+     * 按主键批量查询并加行锁（按主键顺序加锁）；批量审批在锁定任务之后调用，与单条审批、撤回的加锁顺序一致
+     */
+    @Select("<script>" +
+            "SELECT * FROM bpm_application WHERE del_flag = 0 AND app_id IN " +
+            "<foreach collection='appIds' item='id' open='(' separator=',' close=')'>#{id}</foreach> " +
+            "ORDER BY app_id FOR UPDATE" +
+            "</script>")
+    List<Application> selectByIdsForUpdate(@Param("appIds") Collection<Long> appIds);
+
+    /**
+     * 批量结束审批中的申请（置为已通过/已拒绝），同一语句更新状态、完成时间、更新时间与乐观锁版本号
+     *
+     * @return 受影响行数，已结束或已撤回的申请不会被更新
+     */
+    @Update("<script>" +
+            "UPDATE bpm_application SET status = #{status}, finish_time = #{finishTime}, update_time = #{finishTime}, " +
+            "version = version + 1 " +
+            "WHERE del_flag = 0 AND status IN (1, 2) AND app_id IN " +
+            "<foreach collection='appIds' item='id' open='(' separator=',' close=')'>#{id}</foreach>" +
+            "</script>")
+    int finishApplications(@Param("appIds") Collection<Long> appIds, @Param("status") Integer status,
+                           @Param("finishTime") LocalDateTime finishTime);
 }
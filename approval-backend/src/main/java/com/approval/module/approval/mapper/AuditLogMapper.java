@@ -0,0 +1,26 @@
+package com.approval.module.approval.mapper;
+
+import com.approval.module.approval.event.ApprovalEvent;
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.List;
+
+/**
+ * 审批审计日志Mapper
+ */
+@Mapper
+public interface AuditLogMapper {
+
+    /**
+     * 多行写入审计日志，按事件ID去重
+     */
+    @Insert("<script>" +
+            "INSERT IGNORE INTO bpm_audit_log (outbox_id, event_type, app_id, operator_id, from_status, to_status, occur_time) VALUES " +
+            "<foreach collection='events' item='e' separator=','>" +
+            "(#{e.outboxId}, #{e.eventType}, #{e.appId}, #{e.operatorId}, #{e.fromStatus}, #{e.toStatus}, #{e.occurTime})" +
+            "</foreach>" +
+            "</script>")
+    int insertIgnoreBatch(@Param("events") List<ApprovalEvent> events);
+}
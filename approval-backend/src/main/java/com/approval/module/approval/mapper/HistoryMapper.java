@@ -2,11 +2,35 @@ package com.approval.module.approval.mapper;
 
 import com.approval.module.approval.entity.History;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import org.apache.ibatis.annotations.Insert;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+
+import java.util.List;
 
 /**
  * 审批历史Mapper
  */
 @Mapper
 public interface HistoryMapper extends BaseMapper<History> {
+
+    /**
+     * 多行插入审批历史
+     */
+    @Insert("<script>" +
+            "INSERT INTO bpm_history (app_id, task_id, node_name, approver_id, approver_name, action, comment, " +
+            "approve_time, next_node, create_time) VALUES " +
+            "<foreach collection='histories' item='h' separator=','>" +
+            "(#{h.appId}, #{h.taskId}, #{h.nodeName}, #{h.approverId}, #{h.approverName}, #{h.action}, " +
+            "#{h.comment}, #{h.approveTime}, #{h.nextNode}, #{h.createTime})" +
+            "</foreach>" +
+            "</script>")
+    int insertBatch(@Param("histories") List<History> histories);
+
+    /**
+     * 统计用户在申请上的审批记录数，用于判断是否审批过该申请
+     */
+    @Select("SELECT COUNT(*) FROM bpm_history WHERE app_id = #{appId} AND approver_id = #{approverId}")
+    int countByApprover(@Param("appId") Long appId, @Param("approverId") Long approverId);
 }
@@ -3,10 +3,18 @@ package com.approval.module.approval.mapper;
 import com.approval.module.approval.entity.LeaveApplication;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
 
 /**
  * 请假申请Mapper
  */
 @Mapper
 public interface LeaveApplicationMapper extends BaseMapper<LeaveApplication> {
+
+    /**
+     * 查询详情页所需的完整请假记录（含实体默认不加载的附件字段）
+     */
+    @Select("SELECT * FROM bpm_leave_application WHERE app_id = #{appId} LIMIT 1")
+    LeaveApplication selectDetailByAppId(@Param("appId") Long appId);
 }
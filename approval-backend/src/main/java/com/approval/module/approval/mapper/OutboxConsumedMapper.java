@@ -0,0 +1,27 @@
+package com.approval.module.approval.mapper;
+
+import org.apache.ibatis.annotations.Delete;
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.time.LocalDateTime;
+
+/**
+ * 发件箱消费记录Mapper
+ */
+@Mapper
+public interface OutboxConsumedMapper {
+
+    /**
+     * 登记消费记录，返回 0 表示该事件已被此消费者处理过
+     */
+    @Insert("INSERT IGNORE INTO bpm_outbox_consumed (outbox_id, consumer) VALUES (#{outboxId}, #{consumer})")
+    int insertIgnore(@Param("outboxId") Long outboxId, @Param("consumer") String consumer);
+
+    /**
+     * 分批清理早于指定时间的消费记录
+     */
+    @Delete("DELETE FROM bpm_outbox_consumed WHERE create_time < #{before} LIMIT #{limit}")
+    int deleteBefore(@Param("before") LocalDateTime before, @Param("limit") int limit);
+}
@@ -0,0 +1,70 @@
+package com.approval.module.approval.mapper;
+
+import com.approval.module.approval.entity.Outbox;
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import org.apache.ibatis.annotations.Delete;
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.annotations.Update;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 事务发件箱Mapper
+ */
+@Mapper
+public interface OutboxMapper extends BaseMapper<Outbox> {
+
+    /**
+     * 多行写入待投递事件
+     */
+    @Insert("<script>" +
+            "INSERT INTO bpm_outbox (event_type, aggregate_id, payload, status, retry_count, next_retry_time, create_time) VALUES " +
+            "<foreach collection='messages' item='m' separator=','>" +
+            "(#{m.eventType}, #{m.aggregateId}, #{m.payload}, 0, 0, #{m.nextRetryTime}, #{m.createTime})" +
+            "</foreach>" +
+            "</script>")
+    int insertBatch(@Param("messages") List<Outbox> messages);
+
+    /**
+     * 领取一批到期的待投递事件并加锁；已被其他节点锁定的行直接跳过
+     */
+    @Select("SELECT * FROM bpm_outbox WHERE status = 0 AND next_retry_time <= #{now} " +
+            "ORDER BY outbox_id LIMIT #{limit} FOR UPDATE SKIP LOCKED")
+    List<Outbox> claimPending(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    /**
+     * 领取单个待投递事件并加锁
+     */
+    @Select("SELECT * FROM bpm_outbox WHERE outbox_id = #{outboxId} AND status = 0 FOR UPDATE SKIP LOCKED")
+    Outbox claimById(@Param("outboxId") Long outboxId);
+
+    /**
+     * 标记为已投递
+     */
+    @Update("<script>" +
+            "UPDATE bpm_outbox SET status = 1, processed_time = #{now} WHERE outbox_id IN " +
+            "<foreach collection='outboxIds' item='id' open='(' separator=',' close=')'>#{id}</foreach>" +
+            "</script>")
+    int markProcessed(@Param("outboxIds") Collection<Long> outboxIds, @Param("now") LocalDateTime now);
+
+    /**
+     * 记录投递失败，超过最大重试次数后标记为投递失败，不再自动重试
+     * （MySQL 按书写顺序赋值，判断时 retry_count 已是加 1 后的值）
+     */
+    @Update("UPDATE bpm_outbox SET retry_count = retry_count + 1, next_retry_time = #{nextRetryTime}, " +
+            "last_error = #{error}, status = IF(retry_count >= #{maxRetries}, 2, 0) " +
+            "WHERE outbox_id = #{outboxId} AND status = 0")
+    int markFailed(@Param("outboxId") Long outboxId, @Param("error") String error,
+                   @Param("nextRetryTime") LocalDateTime nextRetryTime, @Param("maxRetries") int maxRetries);
+
+    /**
+     * 分批清理早于指定时间的已投递事件
+     */
+    @Delete("DELETE FROM bpm_outbox WHERE status = 1 AND processed_time < #{before} LIMIT #{limit}")
+    int deleteProcessed(@Param("before") LocalDateTime before, @Param("limit") int limit);
+}
@@ -0,0 +1,19 @@
+package com.approval.module.approval.mapper;
+
+import com.approval.module.approval.entity.ProcessTemplate;
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Select;
+
+/**
+ * 流程模板Mapper
+ */
+@Mapper
+public interface ProcessTemplateMapper extends BaseMapper<ProcessTemplate> {
+
+    /**
+     * 模板指纹（数量 + 最近更新时间），用于判断是否需要重新加载（含已删除/禁用的模板，删除也会改变指纹）
+     */
+    @Select("SELECT CONCAT(COUNT(*), '@', COALESCE(MAX(update_time), '')) FROM bpm_process_template")
+    String selectFingerprint();
+}
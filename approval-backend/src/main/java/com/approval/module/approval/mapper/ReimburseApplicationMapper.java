@@ -3,10 +3,18 @@ package com.approval.module.approval.mapper;
 import com.approval.module.approval.entity.ReimburseApplication;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
 
 /**
  * 报销申请Mapper
  */
 @Mapper
 public interface ReimburseApplicationMapper extends BaseMapper<ReimburseApplication> {
+
+    /**
+     * 查询详情页所需的完整报销记录（含实体默认不加载的发票附件字段）
+     */
+    @Select("SELECT * FROM bpm_reimburse_application WHERE app_id = #{appId} LIMIT 1")
+    ReimburseApplication selectDetailByAppId(@Param("appId") Long appId);
 }
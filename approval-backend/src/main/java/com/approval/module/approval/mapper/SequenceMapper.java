@@ -0,0 +1,33 @@
+package com.approval.module.approval.mapper;
+
+import com.approval.module.approval.entity.Sequence;
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.annotations.Update;
+
+/**
+ * 号段序列Mapper
+ */
+@Mapper
+public interface SequenceMapper extends BaseMapper<Sequence> {
+
+    /**
+     * 预留一个号段，行锁保证多节点并发时号段互不重叠
+     */
+    @Update("UPDATE bpm_sequence SET max_value = max_value + #{step}, update_time = NOW() " +
+            "WHERE seq_name = #{seqName}")
+    int increaseMaxValue(@Param("seqName") String seqName, @Param("step") long step);
+
+    /**
+     * 初始化序列，已存在时忽略
+     */
+    @Insert("INSERT IGNORE INTO bpm_sequence (seq_name, max_value, update_time) " +
+            "VALUES (#{seqName}, #{initValue}, NOW())")
+    int insertIgnore(@Param("seqName") String seqName, @Param("initValue") long initValue);
+
+    @Select("SELECT max_value FROM bpm_sequence WHERE seq_name = #{seqName}")
+    Long selectMaxValue(@Param("seqName") String seqName);
+}
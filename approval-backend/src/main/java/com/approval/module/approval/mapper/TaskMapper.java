@@ -3,10 +3,48 @@ package com.approval.module.approval.mapper;
 import com.approval.module.approval.entity.Task;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.annotations.Update;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 
 /**
  * 任务Mapper
  */
 @Mapper
 public interface TaskMapper extends BaseMapper<Task> {
+
+    /**
+     * 锁定申请下的待处理任务（按主键顺序）；撤回时先锁任务再更新申请，与审批的加锁顺序（任务 -> 申请）一致
+     */
+    @Select("SELECT * FROM bpm_task WHERE app_id = #{appId} AND status = 0 ORDER BY task_id FOR UPDATE")
+    List<Task> selectPendingByAppIdForUpdate(@Param("appId") Long appId);
+
+    /**
+     * 按主键批量查询并加行锁（按主键顺序加锁，避免并发批量审批互相死锁）
+     */
+    @Select("<script>" +
+            "SELECT * FROM bpm_task WHERE task_id IN " +
+            "<foreach collection='taskIds' item='id' open='(' separator=',' close=')'>#{id}</foreach> " +
+            "ORDER BY task_id FOR UPDATE" +
+            "</script>")
+    List<Task> selectByIdsForUpdate(@Param("taskIds") Collection<Long> taskIds);
+
+    /**
+     * 将待处理任务置为已处理（比较并交换），返回 0 表示任务已被他人处理
+     */
+    @Update("UPDATE bpm_task SET status = 1, finish_time = #{finishTime} WHERE task_id = #{taskId} AND status = 0")
+    int finishTask(@Param("taskId") Long taskId, @Param("finishTime") LocalDateTime finishTime);
+
+    /**
+     * 批量将待处理任务置为已处理
+     */
+    @Update("<script>" +
+            "UPDATE bpm_task SET status = 1, finish_time = #{finishTime} WHERE status = 0 AND task_id IN " +
+            "<foreach collection='taskIds' item='id' open='(' separator=',' close=')'>#{id}</foreach>" +
+            "</script>")
+    int finishTasks(@Param("taskIds") Collection<Long> taskIds, @Param("finishTime") LocalDateTime finishTime);
 }
@@ -0,0 +1,82 @@
+package com.approval.module.approval.mapper;
+
+import com.approval.module.approval.entity.UserStats;
+import com.approval.module.approval.vo.ApplicationSummaryVo;
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.annotations.Update;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * 用户申请统计Mapper
+ */
+@Mapper
+public interface UserStatsMapper extends BaseMapper<UserStats> {
+
+    /**
+     * 提交申请：总数、待审批数、类型计数加一
+     *
+     * @return 受影响行数，统计行不存在时为 0
+     */
+    @Update("UPDATE bpm_user_stats SET total_count = total_count + 1, pending_count = pending_count + 1, " +
+            "leave_count = leave_count + #{leaveDelta}, reimburse_count = reimburse_count + #{reimburseDelta}, " +
+            "last_submit_time = GREATEST(COALESCE(last_submit_time, #{submitTime}), #{submitTime}), " +
+            "update_time = NOW() " +
+            "WHERE user_id = #{userId}")
+    int increaseSubmit(@Param("userId") Long userId, @Param("leaveDelta") int leaveDelta,
+                       @Param("reimburseDelta") int reimburseDelta, @Param("submitTime") LocalDateTime submitTime);
+
+    /**
+     * 状态变更：按增量调整各状态计数与已通过的天数/金额
+     *
+     * @return 受影响行数，统计行不存在时为 0
+     */
+    @Update("UPDATE bpm_user_stats SET pending_count = pending_count + #{pendingDelta}, " +
+            "approved_count = approved_count + #{approvedDelta}, " +
+            "rejected_count = rejected_count + #{rejectedDelta}, " +
+            "withdrawn_count = withdrawn_count + #{withdrawnDelta}, " +
+            "approved_leave_days = approved_leave_days + #{leaveDays}, " +
+            "approved_reimburse_amount = approved_reimburse_amount + #{reimburseAmount}, " +
+            "update_time = NOW() " +
+            "WHERE user_id = #{userId}")
+    int increaseStatus(@Param("userId") Long userId, @Param("pendingDelta") int pendingDelta,
+                       @Param("approvedDelta") int approvedDelta, @Param("rejectedDelta") int rejectedDelta,
+                       @Param("withdrawnDelta") int withdrawnDelta, @Param("leaveDays") BigDecimal leaveDays,
+                       @Param("reimburseAmount") BigDecimal reimburseAmount);
+
+    /**
+     * 以重新统计的结果覆盖统计行
+     */
+    @Insert("INSERT INTO bpm_user_stats (user_id, total_count, pending_count, approved_count, rejected_count, " +
+            "withdrawn_count, leave_count, reimburse_count, approved_leave_days, approved_reimburse_amount, " +
+            "last_submit_time, update_time) VALUES (#{userId}, #{s.totalCount}, #{s.pendingCount}, " +
+            "#{s.approvedCount}, #{s.rejectedCount}, #{s.withdrawnCount}, #{s.leaveCount}, #{s.reimburseCount}, " +
+            "#{s.totalLeaveDays}, #{s.totalReimburseAmount}, #{s.lastSubmitTime}, NOW()) " +
+            "ON DUPLICATE KEY UPDATE total_count = #{s.totalCount}, pending_count = #{s.pendingCount}, " +
+            "approved_count = #{s.approvedCount}, rejected_count = #{s.rejectedCount}, " +
+            "withdrawn_count = #{s.withdrawnCount}, leave_count = #{s.leaveCount}, " +
+            "reimburse_count = #{s.reimburseCount}, approved_leave_days = #{s.totalLeaveDays}, " +
+            "approved_reimburse_amount = #{s.totalReimburseAmount}, last_submit_time = #{s.lastSubmitTime}, " +
+            "update_time = NOW()")
+    int upsert(@Param("userId") Long userId, @Param("s") ApplicationSummaryVo summary);
+
+    /**
+     * 锁定统计行，重建期间阻塞增量更新
+     */
+    @Select("SELECT user_id FROM bpm_user_stats WHERE user_id = #{userId} FOR UPDATE")
+    Long lockByUserId(@Param("userId") Long userId);
+
+    /**
+     * 统计该用户的申请中已提交但尚未被统计消费者处理的发件箱事件数
+     * （待投递事件很少，经状态索引过滤后按申请主键关联）
+     */
+    @Select("SELECT COUNT(*) FROM bpm_outbox o JOIN bpm_application a ON a.app_id = o.aggregate_id " +
+            "WHERE o.status = 0 AND a.applicant_id = #{userId} AND NOT EXISTS (SELECT 1 FROM bpm_outbox_consumed c " +
+            "WHERE c.outbox_id = o.outbox_id AND c.consumer = #{consumer})")
+    int countUnconsumedEvents(@Param("userId") Long userId, @Param("consumer") String consumer);
+}
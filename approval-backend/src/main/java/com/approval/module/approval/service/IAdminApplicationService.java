@@ -0,0 +1,29 @@
+package com.approval.module.approval.service;
+
+import com.approval.common.result.CursorPage;
+import com.approval.module.approval.vo.AdminApplicationVo;
+import com.approval.module.approval.vo.ApplicationDetailVo;
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+
+/**
+ * 管理端审批数据查询服务（只读）
+ */
+public interface IAdminApplicationService {
+
+    /**
+     * 分页查询全部审批数据
+     */
+    Page<AdminApplicationVo> getApplications(Integer pageNum, Integer pageSize,
+                                             String appType, Integer status, String appNo);
+
+    /**
+     * 游标分页查询全部审批数据
+     */
+    CursorPage<AdminApplicationVo> getApplicationsByCursor(String cursor, Integer pageSize,
+                                                           String appType, Integer status, String appNo);
+
+    /**
+     * 查询审批数据详情
+     */
+    ApplicationDetailVo getApplicationDetail(Long appId);
+}
@@ -1,7 +1,9 @@
 package com.approval.module.approval.service;
 
+import com.approval.common.result.CursorPage;
 import com.approval.module.approval.dto.CreateLeaveDto;
 import com.approval.module.approval.dto.CreateReimburseDto;
+import com.approval.module.approval.vo.ApplicationDetailVo;
 import com.approval.module.approval.vo.ApplicationHistoryVo;
 import com.approval.module.approval.vo.ApplicationSummaryVo;
 import com.approval.module.approval.vo.ApplicationVo;
@@ -30,6 +32,12 @@ public interface IApplicationService {
     Page<ApplicationVo> getMyApplications(Long userId, Integer pageNum, Integer pageSize,
             String appType, Integer status);
 
+    /**
+     * 游标分页查询我的申请列表
+     */
+    CursorPage<ApplicationVo> getMyApplicationsByCursor(Long userId, String cursor, Integer pageSize,
+            String appType, Integer status);
+
         /**
          * 查询审批历史
          */
@@ -45,7 +53,7 @@ public interface IApplicationService {
     /**
      * 查询申请详情
      */
-    Object getApplicationDetail(Long appId);
+    ApplicationDetailVo getApplicationDetail(Long appId);
 
     /**
      * 撤回申请
@@ -1,6 +1,9 @@
 package com.approval.module.approval.service;
 
+import com.approval.common.result.CursorPage;
 import com.approval.module.approval.dto.ApproveTaskDto;
+import com.approval.module.approval.dto.BatchApproveTaskDto;
+import com.approval.module.approval.vo.BatchApproveResultVo;
 import com.approval.module.approval.vo.TaskVo;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 
@@ -14,13 +17,28 @@ public interface ITaskService {
      */
     Page<TaskVo> getTodoTasks(Long userId, Integer pageNum, Integer pageSize);
 
+    /**
+     * 游标分页查询待办任务
+     */
+    CursorPage<TaskVo> getTodoTasksByCursor(Long userId, String cursor, Integer pageSize);
+
     /**
      * 审批任务
      */
     void approveTask(ApproveTaskDto dto, Long userId);
 
+    /**
+     * 批量审批任务，逐项返回结果，校验未通过的任务不影响其他任务
+     */
+    BatchApproveResultVo batchApproveTasks(BatchApproveTaskDto dto, Long userId);
+
     /**
      * 查询已办任务
      */
     Page<TaskVo> getDoneTasks(Long userId, Integer pageNum, Integer pageSize);
+
+    /**
+     * 游标分页查询已办任务
+     */
+    CursorPage<TaskVo> getDoneTasksByCursor(Long userId, String cursor, Integer pageSize);
 }
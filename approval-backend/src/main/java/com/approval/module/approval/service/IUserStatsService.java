@@ -0,0 +1,53 @@
+package com.approval.module.approval.service;
+
+import com.approval.module.approval.entity.Application;
+import com.approval.module.approval.entity.UserStats;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 用户申请统计服务接口
+ * 统计随申请提交、审批、撤回增量维护，由发件箱事件异步驱动（见 UserStatsOutboxListener）
+ */
+public interface IUserStatsService {
+
+    /**
+     * 统计在发件箱中的消费者名
+     */
+    String OUTBOX_CONSUMER = "user-stats";
+
+    /**
+     * 查询用户统计，统计行不存在时按原始数据重建；
+     * 该用户仍有未消费的统计事件时不落库，直接返回按原始数据计算的结果
+     */
+    UserStats getUserStats(Long userId);
+
+    /**
+     * 记录申请提交
+     */
+    void onSubmit(Application application);
+
+    /**
+     * 记录申请状态变更
+     *
+     * @param application 已更新为新状态的申请
+     * @param fromStatus  变更前的状态
+     */
+    void onStatusChange(Application application, Integer fromStatus);
+
+    /**
+     * 批量记录申请状态变更，按申请人合并为一次增量更新
+     *
+     * @param applications 已更新为新状态的申请
+     * @param fromStatuses 申请ID -> 变更前的状态
+     */
+    void onStatusChange(List<Application> applications, Map<Long, Integer> fromStatuses);
+
+    /**
+     * 按原始数据重建用户统计
+     *
+     * @return 重建后的统计行；该用户仍有未消费的统计事件时跳过重建，返回 null
+     */
+    UserStats rebuild(Long userId);
+}
@@ -0,0 +1,144 @@
+package com.approval.module.approval.service.impl;
+
+import com.approval.common.result.CursorPage;
+import com.approval.common.utils.CursorUtils;
+import com.approval.module.approval.entity.Application;
+import com.approval.module.approval.entity.LeaveApplication;
+import com.approval.module.approval.entity.ReimburseApplication;
+import com.approval.module.approval.mapper.ApplicationMapper;
+import com.approval.module.approval.mapper.LeaveApplicationMapper;
+import com.approval.module.approval.mapper.ReimburseApplicationMapper;
+import com.approval.module.approval.service.IAdminApplicationService;
+import com.approval.module.approval.service.IApplicationService;
+import com.approval.module.approval.vo.AdminApplicationVo;
+import com.approval.module.approval.vo.ApplicationDetailVo;
+import com.approval.module.system.entity.User;
+import com.approval.module.system.mapper.UserMapper;
+import com.approval.module.system.support.DictionaryCache;
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.BeanUtils;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 管理端审批数据查询服务实现
+ */
+@Service
+@RequiredArgsConstructor
+public class AdminApplicationServiceImpl implements IAdminApplicationService {
+
+    private final ApplicationMapper applicationMapper;
+    private final LeaveApplicationMapper leaveApplicationMapper;
+    private final ReimburseApplicationMapper reimburseApplicationMapper;
+    private final UserMapper userMapper;
+    private final DictionaryCache dictionaryCache;
+    private final IApplicationService applicationService;
+
+    @Override
+    public Page<AdminApplicationVo> getApplications(Integer pageNum, Integer pageSize,
+                                                    String appType, Integer status, String appNo) {
+        LambdaQueryWrapper<Application> wrapper = buildWrapper(appType, status, appNo)
+                .orderByDesc(Application::getSubmitTime);
+
+        Page<Application> appPage = applicationMapper.selectPage(new Page<>(pageNum, pageSize), wrapper);
+
+        Page<AdminApplicationVo> voPage = new Page<>(appPage.getCurrent(), appPage.getSize(), appPage.getTotal());
+        voPage.setRecords(toAdminApplicationVos(appPage.getRecords()));
+        return voPage;
+    }
+
+    @Override
+    public CursorPage<AdminApplicationVo> getApplicationsByCursor(String cursor, Integer pageSize,
+                                                                  String appType, Integer status, String appNo) {
+        int size = CursorUtils.normalizeSize(pageSize);
+
+        LambdaQueryWrapper<Application> wrapper = buildWrapper(appType, status, appNo);
+        CursorUtils.seek(wrapper, Application::getSubmitTime, Application::getAppId, cursor, size);
+
+        return CursorUtils.toPage(applicationMapper.selectList(wrapper), size, this::toAdminApplicationVos,
+                Application::getSubmitTime, Application::getAppId);
+    }
+
+    @Override
+    public ApplicationDetailVo getApplicationDetail(Long appId) {
+        return applicationService.getApplicationDetail(appId);
+    }
+
+    private LambdaQueryWrapper<Application> buildWrapper(String appType, Integer status, String appNo) {
+        LambdaQueryWrapper<Application> wrapper = new LambdaQueryWrapper<>();
+        wrapper.eq(appType != null && !appType.isEmpty(), Application::getAppType, appType)
+                .eq(status != null, Application::getStatus, status)
+                .like(appNo != null && !appNo.isEmpty(), Application::getAppNo, appNo);
+        return wrapper;
+    }
+
+    /**
+     * 批量组装列表VO
+     * 申请人、请假详情、报销详情各一次 IN 查询，部门名称取自字典缓存，查询次数不随分页大小增长
+     */
+    private List<AdminApplicationVo> toAdminApplicationVos(List<Application> applications) {
+        if (applications.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        Set<Long> applicantIds = applications.stream()
+                .map(Application::getApplicantId)
+                .collect(Collectors.toSet());
+        Map<Long, User> userMap = userMapper.selectList(new LambdaQueryWrapper<User>()
+                        .select(User::getUserId, User::getRealName)
+                        .in(User::getUserId, applicantIds)).stream()
+                .collect(Collectors.toMap(User::getUserId, Function.identity()));
+
+        List<Long> leaveIds = appIdsOfType(applications, "leave");
+        Map<Long, LeaveApplication> leaveMap = leaveIds.isEmpty() ? Collections.emptyMap()
+                : leaveApplicationMapper.selectList(new LambdaQueryWrapper<LeaveApplication>()
+                        .select(LeaveApplication::getAppId, LeaveApplication::getLeaveType, LeaveApplication::getDays)
+                        .in(LeaveApplication::getAppId, leaveIds)).stream()
+                .collect(Collectors.toMap(LeaveApplication::getAppId, Function.identity(), (a, b) -> a));
+
+        List<Long> reimburseIds = appIdsOfType(applications, "reimburse");
+        Map<Long, ReimburseApplication> reimburseMap = reimburseIds.isEmpty() ? Collections.emptyMap()
+                : reimburseApplicationMapper.selectList(new LambdaQueryWrapper<ReimburseApplication>()
+                        .select(ReimburseApplication::getAppId, ReimburseApplication::getExpenseType,
+                                ReimburseApplication::getAmount)
+                        .in(ReimburseApplication::getAppId, reimburseIds)).stream()
+                .collect(Collectors.toMap(ReimburseApplication::getAppId, Function.identity(), (a, b) -> a));
+
+        return applications.stream().map(app -> {
+            AdminApplicationVo vo = new AdminApplicationVo();
+            BeanUtils.copyProperties(app, vo);
+
+            User user = userMap.get(app.getApplicantId());
+            vo.setApplicantName(user != null ? user.getRealName() : "");
+            vo.setDeptName(dictionaryCache.getDeptName(app.getDeptId()));
+
+            LeaveApplication leave = leaveMap.get(app.getAppId());
+            if (leave != null) {
+                vo.setLeaveType(leave.getLeaveType());
+                vo.setLeaveDays(leave.getDays());
+            }
+            ReimburseApplication reimburse = reimburseMap.get(app.getAppId());
+            if (reimburse != null) {
+                vo.setExpenseType(reimburse.getExpenseType());
+                vo.setExpenseAmount(reimburse.getAmount());
+            }
+            return vo;
+        }).collect(Collectors.toList());
+    }
+
+    private List<Long> appIdsOfType(List<Application> applications, String appType) {
+        return applications.stream()
+                .filter(app -> appType.equals(app.getAppType()))
+                .map(Application::getAppId)
+                .collect(Collectors.toList());
+    }
+}
@@ -1,14 +1,23 @@
 package com.approval.module.approval.service.impl;
 
 import com.approval.common.exception.BusinessException;
+import com.approval.common.result.CursorPage;
+import com.approval.common.utils.CursorUtils;
 import com.approval.module.approval.dto.ApproveTaskDto;
+import com.approval.module.approval.dto.BatchApproveTaskDto;
+import com.approval.module.approval.engine.ProcessEngine;
+import com.approval.module.approval.engine.ProcessNode;
+import com.approval.module.approval.engine.ProcessVariables;
 import com.approval.module.approval.entity.Application;
 import com.approval.module.approval.entity.History;
 import com.approval.module.approval.entity.Task;
+import com.approval.module.approval.event.ApprovalEvent;
 import com.approval.module.approval.mapper.ApplicationMapper;
 import com.approval.module.approval.mapper.HistoryMapper;
 import com.approval.module.approval.mapper.TaskMapper;
 import com.approval.module.approval.service.ITaskService;
+import com.approval.module.approval.support.outbox.OutboxPublisher;
+import com.approval.module.approval.vo.BatchApproveResultVo;
 import com.approval.module.approval.vo.TaskVo;
 import com.approval.module.system.entity.User;
 import com.approval.module.system.mapper.UserMapper;
@@ -19,6 +28,15 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * 任务服务实现
@@ -31,6 +49,9 @@ public class TaskServiceImpl implements ITaskService {
     private final ApplicationMapper applicationMapper;
     private final HistoryMapper historyMapper;
     private final UserMapper userMapper;
+    private final OutboxPublisher outboxPublisher;
+    private final ProcessEngine processEngine;
+    private final ProcessVariables processVariables;
 
     @Override
     public Page<TaskVo> getTodoTasks(Long userId, Integer pageNum, Integer pageSize) {
@@ -44,28 +65,21 @@ public class TaskServiceImpl implements ITaskService {
         Page<Task> taskPage = taskMapper.selectPage(page, wrapper);
 
         Page<TaskVo> voPage = new Page<>(taskPage.getCurrent(), taskPage.getSize(), taskPage.getTotal());
+        voPage.setRecords(toTaskVos(taskPage.getRecords()));
 
-        voPage.setRecords(taskPage.getRecords().stream().map(task -> {
-            TaskVo vo = new TaskVo();
-            org.springframework.beans.BeanUtils.copyProperties(task, vo);
-
-            // 查询申请信息
-            Application app = applicationMapper.selectById(task.getAppId());
-            if (app != null) {
-                vo.setAppNo(app.getAppNo());
-                vo.setAppType(app.getAppType());
-                vo.setTitle(app.getTitle());
+        return voPage;
+    }
 
-                User applicant = userMapper.selectById(app.getApplicantId());
-                if (applicant != null) {
-                    vo.setApplicantName(applicant.getRealName());
-                }
-            }
+    @Override
+    public CursorPage<TaskVo> getTodoTasksByCursor(Long userId, String cursor, Integer pageSize) {
+        int size = CursorUtils.normalizeSize(pageSize);
 
-            return vo;
-        }).collect(java.util.stream.Collectors.toList()));
+        LambdaQueryWrapper<Task> wrapper = new LambdaQueryWrapper<>();
+        wrapper.eq(Task::getStatus, 0); // 待处理
+        CursorUtils.seek(wrapper, Task::getCreateTime, Task::getTaskId, cursor, size);
 
-        return voPage;
+        return CursorUtils.toPage(taskMapper.selectList(wrapper), size, this::toTaskVos,
+                Task::getCreateTime, Task::getTaskId);
     }
 
     @Override
@@ -93,10 +107,11 @@ public class TaskServiceImpl implements ITaskService {
         // 4. 获取审批人信息
         User approver = userMapper.selectById(userId);
 
-        // 5. 更新任务状态
-        task.setStatus(1); // 已处理
-        task.setFinishTime(LocalDateTime.now());
-        taskMapper.updateById(task);
+        // 5. 更新任务状态：条件更新，只有把任务从待处理改为已处理的请求继续执行
+        LocalDateTime now = LocalDateTime.now();
+        if (taskMapper.finishTask(task.getTaskId(), now) == 0) {
+            throw new BusinessException("任务已处理，请勿重复操作");
+        }
 
         // 6. 记录审批历史
         History history = new History();
@@ -107,24 +122,218 @@ public class TaskServiceImpl implements ITaskService {
         history.setApproverName(approver.getRealName());
         history.setAction(dto.getAction());
         history.setComment(dto.getComment());
-        history.setCreateTime(LocalDateTime.now());
-        history.setApproveTime(LocalDateTime.now());
-
-        // 7. 更新申请状态
-        if (dto.getAction() == 1) {
-            // 同意 - 简化流程，直接通过
-            application.setStatus(3); // 已通过
-            application.setFinishTime(LocalDateTime.now());
-            history.setNextNode("结束");
+        history.setCreateTime(now);
+        history.setApproveTime(now);
+
+        // 7. 更新申请状态：同意时按流程定义流转，有下一节点则进入审批中并生成新待办；
+        //    当前节点已不在流程定义中时抛出异常，整个审批回滚
+        Integer fromStatus = application.getStatus();
+        ProcessNode nextNode = dto.getAction() == 1
+                ? processEngine.next(application, task.getNodeName(), () -> processVariables.load(application))
+                : null;
+        if (nextNode != null) {
+            application.setStatus(2); // 审批中
+            application.setCurrentNode(nextNode.getName());
+            history.setNextNode(nextNode.getName());
         } else {
-            // 拒绝
-            application.setStatus(4); // 已拒绝
-            application.setFinishTime(LocalDateTime.now());
+            application.setStatus(dto.getAction() == 1 ? 3 : 4); // 已通过 / 已拒绝
+            application.setFinishTime(now);
             history.setNextNode("结束");
         }
 
-        applicationMapper.updateById(application);
+        // 按版本号更新，申请已被并发修改（如同时撤回）时整个审批回滚
+        application.setUpdateTime(now);
+        if (applicationMapper.updateById(application) == 0) {
+            throw new BusinessException("申请已被他人修改，请刷新后重试");
+        }
         historyMapper.insert(history);
+        outboxPublisher.publish(ApprovalEvent.statusChanged(application, fromStatus, userId, List.of(task.getTaskId())));
+
+        if (nextNode != null) {
+            Task nextTask = processEngine.newTask(application, nextNode);
+            taskMapper.insert(nextTask);
+            outboxPublisher.publish(ApprovalEvent.taskAssigned(application, userId, nextTask.getTaskId()));
+        }
+    }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public BatchApproveResultVo batchApproveTasks(BatchApproveTaskDto dto, Long userId) {
+        User approver = userMapper.selectById(userId);
+        if (approver == null) {
+            throw new BusinessException("用户不存在");
+        }
+
+        List<Long> taskIds = dto.getTaskIds().stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .collect(Collectors.toList());
+        Map<Long, String> failures = new HashMap<>();
+
+        // 1. 一条语句锁定全部任务，并发的单条/批量审批在此排队
+        Map<Long, Task> taskMap = taskIds.isEmpty() ? Collections.emptyMap()
+                : taskMapper.selectByIdsForUpdate(taskIds).stream()
+                        .collect(Collectors.toMap(Task::getTaskId, Function.identity()));
+
+        Set<Long> appIds = taskMap.values().stream()
+                .map(Task::getAppId)
+                .collect(Collectors.toSet());
+        // 再按主键顺序锁定申请，与单条审批、撤回一样先任务后申请，互相之间不会死锁
+        Map<Long, Application> appMap = appIds.isEmpty() ? Collections.emptyMap()
+                : applicationMapper.selectByIdsForUpdate(appIds).stream()
+                        .collect(Collectors.toMap(Application::getAppId, Function.identity()));
+
+        // 2. 逐项校验，未通过的只记录原因
+        List<Task> approvable = new ArrayList<>();
+        for (Long taskId : taskIds) {
+            Task task = taskMap.get(taskId);
+            Application app = task != null ? appMap.get(task.getAppId()) : null;
+            if (task == null) {
+                failures.put(taskId, "任务不存在");
+            } else if (task.getStatus() == 1) {
+                failures.put(taskId, "任务已处理，请勿重复操作");
+            } else if (app == null) {
+                failures.put(taskId, "申请不存在");
+            } else if (app.getStatus() != 1 && app.getStatus() != 2) {
+                failures.put(taskId, "申请已结束或已撤回");
+            } else {
+                approvable.add(task);
+            }
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        Map<Long, Integer> fromStatuses = new HashMap<>();
+
+        // 3. 同意时按流程定义确定下一节点，条件流转所需的业务变量一次批量加载
+        Map<Long, ProcessNode> nextNodes = new HashMap<>();
+        if (dto.getAction() == 1 && !approvable.isEmpty()) {
+            Map<Long, Task> taskByApp = approvable.stream()
+                    .collect(Collectors.toMap(Task::getAppId, Function.identity(), (a, b) -> a));
+            List<Application> conditional = taskByApp.values().stream()
+                    .filter(task -> processEngine.isConditional(appMap.get(task.getAppId()), task.getNodeName()))
+                    .map(task -> appMap.get(task.getAppId()))
+                    .collect(Collectors.toList());
+            Map<Long, Map<String, Object>> variables = conditional.isEmpty() ? Collections.emptyMap()
+                    : processVariables.loadAll(conditional);
+            taskByApp.forEach((appId, task) -> {
+                try {
+                    ProcessNode next = processEngine.next(appMap.get(appId), task.getNodeName(), () -> variables.get(appId));
+                    if (next != null) {
+                        nextNodes.put(appId, next);
+                    }
+                } catch (BusinessException e) {
+                    // 当前节点已不在流程定义中，该申请的任务整项记为失败
+                    approvable.stream()
+                            .filter(item -> item.getAppId().equals(appId))
+                            .forEach(item -> failures.put(item.getTaskId(), e.getMessage()));
+                }
+            });
+        }
+
+        // 4. 流转到下一节点的申请逐条按版本号更新，被并发修改的整项记为失败
+        for (Map.Entry<Long, ProcessNode> entry : nextNodes.entrySet()) {
+            Application app = appMap.get(entry.getKey());
+            Integer fromStatus = app.getStatus();
+            app.setStatus(2); // 审批中
+            app.setCurrentNode(entry.getValue().getName());
+            app.setUpdateTime(now);
+            if (applicationMapper.updateById(app) == 0) {
+                approvable.stream()
+                        .filter(task -> task.getAppId().equals(app.getAppId()))
+                        .forEach(task -> failures.put(task.getTaskId(), "申请已被他人修改，请刷新后重试"));
+            } else {
+                fromStatuses.put(app.getAppId(), fromStatus);
+            }
+        }
+        approvable.removeIf(task -> failures.containsKey(task.getTaskId()));
+        nextNodes.keySet().retainAll(fromStatuses.keySet());
+
+        // 5. 结束的申请一条 UPDATE；影响行数不符时按版本号比对出未更新的申请，整项记为失败，不影响其他申请
+        int toStatus = dto.getAction() == 1 ? 3 : 4; // 同意=已通过 拒绝=已拒绝
+        List<Application> finishing = approvable.stream()
+                .map(Task::getAppId)
+                .distinct()
+                .filter(appId -> !nextNodes.containsKey(appId))
+                .map(appMap::get)
+                .collect(Collectors.toList());
+        if (!finishing.isEmpty()) {
+            List<Long> finishingIds = finishing.stream()
+                    .map(Application::getAppId)
+                    .collect(Collectors.toList());
+            if (applicationMapper.finishApplications(finishingIds, toStatus, now) != finishingIds.size()) {
+                // 申请仍在本事务的行锁内，版本号恰好加一的才是本语句更新的
+                Map<Long, Integer> versions = applicationMapper.selectBatchIds(finishingIds).stream()
+                        .collect(Collectors.toMap(Application::getAppId, Application::getVersion));
+                Set<Long> stale = finishing.stream()
+                        .filter(app -> !Objects.equals(versions.get(app.getAppId()), app.getVersion() + 1))
+                        .map(Application::getAppId)
+                        .collect(Collectors.toSet());
+                approvable.stream()
+                        .filter(task -> stale.contains(task.getAppId()))
+                        .forEach(task -> failures.put(task.getTaskId(), "申请已被他人修改，请刷新后重试"));
+                approvable.removeIf(task -> stale.contains(task.getAppId()));
+                finishing.removeIf(app -> stale.contains(app.getAppId()));
+            }
+            finishing.forEach(app -> {
+                fromStatuses.put(app.getAppId(), app.getStatus());
+                app.setStatus(toStatus);
+                app.setFinishTime(now);
+                app.setUpdateTime(now);
+            });
+        }
+
+        // 6. 集合式写入：任务一条 UPDATE，历史一条多行 INSERT
+        if (!approvable.isEmpty()) {
+            taskMapper.finishTasks(approvable.stream().map(Task::getTaskId).collect(Collectors.toList()), now);
+
+            List<Application> applications = approvable.stream()
+                    .map(Task::getAppId)
+                    .distinct()
+                    .map(appMap::get)
+                    .collect(Collectors.toList());
+
+            historyMapper.insertBatch(approvable.stream().map(task -> {
+                ProcessNode next = nextNodes.get(task.getAppId());
+                History history = new History();
+                history.setAppId(task.getAppId());
+                history.setTaskId(task.getTaskId());
+                history.setNodeName(task.getNodeName());
+                history.setApproverId(userId);
+                history.setApproverName(approver.getRealName());
+                history.setAction(dto.getAction());
+                history.setComment(dto.getComment());
+                history.setCreateTime(now);
+                history.setApproveTime(now);
+                history.setNextNode(next != null ? next.getName() : "结束");
+                return history;
+            }).collect(Collectors.toList()));
+
+            // 统计、缓存失效、待办推送等由发件箱事件异步处理
+            Map<Long, List<Long>> taskIdsByApp = approvable.stream()
+                    .collect(Collectors.groupingBy(Task::getAppId,
+                            Collectors.mapping(Task::getTaskId, Collectors.toList())));
+            List<ApprovalEvent> events = applications.stream()
+                    .map(app -> ApprovalEvent.statusChanged(app, fromStatuses.get(app.getAppId()), userId,
+                            taskIdsByApp.get(app.getAppId())))
+                    .collect(Collectors.toList());
+
+            // 流转的申请逐条生成下一节点待办
+            nextNodes.forEach((appId, node) -> {
+                Task nextTask = processEngine.newTask(appMap.get(appId), node);
+                taskMapper.insert(nextTask);
+                events.add(ApprovalEvent.taskAssigned(appMap.get(appId), userId, nextTask.getTaskId()));
+            });
+            outboxPublisher.publishAll(events);
+        }
+
+        BatchApproveResultVo result = new BatchApproveResultVo();
+        for (Long taskId : taskIds) {
+            String failure = failures.get(taskId);
+            result.getItems().add(new BatchApproveResultVo.Item(taskId, failure == null, failure));
+        }
+        result.setFailCount(failures.size());
+        result.setSuccessCount(taskIds.size() - failures.size());
+        return result;
     }
 
     @Override
@@ -139,38 +348,91 @@ public class TaskServiceImpl implements ITaskService {
         Page<Task> taskPage = taskMapper.selectPage(page, wrapper);
 
         Page<TaskVo> voPage = new Page<>(taskPage.getCurrent(), taskPage.getSize(), taskPage.getTotal());
+        voPage.setRecords(toDoneTaskVos(taskPage.getRecords()));
+
+        return voPage;
+    }
+
+    @Override
+    public CursorPage<TaskVo> getDoneTasksByCursor(Long userId, String cursor, Integer pageSize) {
+        int size = CursorUtils.normalizeSize(pageSize);
+
+        LambdaQueryWrapper<Task> wrapper = new LambdaQueryWrapper<>();
+        wrapper.eq(Task::getAssigneeId, userId)
+                .eq(Task::getStatus, 1); // 已处理
+        CursorUtils.seek(wrapper, Task::getFinishTime, Task::getTaskId, cursor, size);
+
+        return CursorUtils.toPage(taskMapper.selectList(wrapper), size, this::toDoneTaskVos,
+                Task::getFinishTime, Task::getTaskId);
+    }
+
+    /**
+     * 组装已办任务VO，审批结果取自每个任务最新的一条历史记录，整页一次查询
+     */
+    private List<TaskVo> toDoneTaskVos(List<Task> tasks) {
+        List<TaskVo> records = toTaskVos(tasks);
+        if (records.isEmpty()) {
+            return records;
+        }
+
+        List<Long> taskIds = records.stream()
+                .map(TaskVo::getTaskId)
+                .collect(Collectors.toList());
+        Map<Long, History> latestHistoryMap = new HashMap<>();
+        historyMapper.selectList(new LambdaQueryWrapper<History>()
+                        .in(History::getTaskId, taskIds)
+                        .orderByDesc(History::getCreateTime))
+                .forEach(history -> latestHistoryMap.putIfAbsent(history.getTaskId(), history));
+
+        records.forEach(vo -> {
+            History history = latestHistoryMap.get(vo.getTaskId());
+            if (history != null) {
+                vo.setAction(history.getAction());
+                vo.setComment(history.getComment());
+            }
+        });
+        return records;
+    }
+
+    /**
+     * 批量组装任务VO
+     * 申请、申请人各一次 IN 查询，查询次数不随分页大小增长
+     */
+    private List<TaskVo> toTaskVos(List<Task> tasks) {
+        if (tasks.isEmpty()) {
+            return new ArrayList<>();
+        }
 
-        voPage.setRecords(taskPage.getRecords().stream().map(task -> {
+        Set<Long> appIds = tasks.stream()
+                .map(Task::getAppId)
+                .collect(Collectors.toSet());
+        Map<Long, Application> appMap = applicationMapper.selectBatchIds(appIds).stream()
+                .collect(Collectors.toMap(Application::getAppId, Function.identity()));
+
+        Set<Long> applicantIds = appMap.values().stream()
+                .map(Application::getApplicantId)
+                .collect(Collectors.toSet());
+        Map<Long, User> userMap = applicantIds.isEmpty() ? Collections.emptyMap()
+                : userMapper.selectBatchIds(applicantIds).stream()
+                        .collect(Collectors.toMap(User::getUserId, Function.identity()));
+
+        return tasks.stream().map(task -> {
             TaskVo vo = new TaskVo();
             org.springframework.beans.BeanUtils.copyProperties(task, vo);
 
-            // 查询申请信息
-            Application app = applicationMapper.selectById(task.getAppId());
+            Application app = appMap.get(task.getAppId());
             if (app != null) {
                 vo.setAppNo(app.getAppNo());
                 vo.setAppType(app.getAppType());
                 vo.setTitle(app.getTitle());
 
-                User applicant = userMapper.selectById(app.getApplicantId());
+                User applicant = userMap.get(app.getApplicantId());
                 if (applicant != null) {
                     vo.setApplicantName(applicant.getRealName());
                 }
             }
 
-            // 查询审批结果（从历史记录）
-            History history = historyMapper.selectOne(
-                    new LambdaQueryWrapper<History>()
-                            .eq(History::getTaskId, task.getTaskId())
-                            .orderByDesc(History::getCreateTime)
-                            .last("LIMIT 1"));
-            if (history != null) {
-                vo.setAction(history.getAction());
-                vo.setComment(history.getComment());
-            }
-
             return vo;
-        }).collect(java.util.stream.Collectors.toList()));
-
-        return voPage;
+        }).collect(Collectors.toList());
     }
 }
@@ -0,0 +1,228 @@
+package com.approval.module.approval.service.impl;
+
+import com.approval.module.approval.entity.Application;
+import com.approval.module.approval.entity.LeaveApplication;
+import com.approval.module.approval.entity.ReimburseApplication;
+import com.approval.module.approval.entity.UserStats;
+import com.approval.module.approval.mapper.ApplicationMapper;
+import com.approval.module.approval.mapper.LeaveApplicationMapper;
+import com.approval.module.approval.mapper.ReimburseApplicationMapper;
+import com.approval.module.approval.mapper.UserStatsMapper;
+import com.approval.module.approval.service.IUserStatsService;
+import com.approval.module.approval.vo.ApplicationSummaryVo;
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * 用户申请统计服务实现
+ * 统计由发件箱事件异步增量维护，统计行不存在时（如历史用户首次操作）按原始数据重建。
+ * 原始数据里已包含已提交但尚未被统计消费的事件，这些事件稍后还会再增量一次，
+ * 因此该用户还有未消费的事件时跳过重建：由最后一个事件的消费者（其登记在同一事务内可见）完成重建，
+ * 查询接口在此期间返回不落库的计算结果
+ */
+@Service
+@RequiredArgsConstructor
+public class UserStatsServiceImpl implements IUserStatsService {
+
+    private static final int STATUS_PENDING = 1;
+    private static final int STATUS_IN_PROGRESS = 2;
+    private static final int STATUS_APPROVED = 3;
+    private static final int STATUS_REJECTED = 4;
+    private static final int STATUS_WITHDRAWN = 5;
+
+    private final UserStatsMapper userStatsMapper;
+    private final ApplicationMapper applicationMapper;
+    private final LeaveApplicationMapper leaveApplicationMapper;
+    private final ReimburseApplicationMapper reimburseApplicationMapper;
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public UserStats getUserStats(Long userId) {
+        UserStats stats = userStatsMapper.selectById(userId);
+        if (stats == null) {
+            stats = rebuild(userId);
+        }
+        return stats != null ? stats : toUserStats(userId, applicationMapper.selectSummary(userId));
+    }
+
+    @Override
+    public void onSubmit(Application application) {
+        int leaveDelta = "leave".equals(application.getAppType()) ? 1 : 0;
+        int reimburseDelta = "reimburse".equals(application.getAppType()) ? 1 : 0;
+        if (userStatsMapper.increaseSubmit(application.getApplicantId(), leaveDelta, reimburseDelta,
+                application.getSubmitTime()) == 0) {
+            rebuild(application.getApplicantId());
+        }
+    }
+
+    @Override
+    public void onStatusChange(Application application, Integer fromStatus) {
+        Integer toStatus = application.getStatus();
+        if (Objects.equals(fromStatus, toStatus)) {
+            return;
+        }
+
+        // 进入或离开“已通过”时，同步调整已通过的天数/金额
+        int approvedDelta = delta(STATUS_APPROVED, fromStatus, toStatus);
+        BigDecimal leaveDays = BigDecimal.ZERO;
+        BigDecimal reimburseAmount = BigDecimal.ZERO;
+        if (approvedDelta != 0) {
+            BigDecimal sign = BigDecimal.valueOf(approvedDelta);
+            if ("leave".equals(application.getAppType())) {
+                LeaveApplication leave = leaveApplicationMapper.selectOne(new LambdaQueryWrapper<LeaveApplication>()
+                        .select(LeaveApplication::getDays)
+                        .eq(LeaveApplication::getAppId, application.getAppId()));
+                if (leave != null && leave.getDays() != null) {
+                    leaveDays = leave.getDays().multiply(sign);
+                }
+            } else if ("reimburse".equals(application.getAppType())) {
+                ReimburseApplication reimburse = reimburseApplicationMapper.selectOne(
+                        new LambdaQueryWrapper<ReimburseApplication>()
+                                .select(ReimburseApplication::getAmount)
+                                .eq(ReimburseApplication::getAppId, application.getAppId()));
+                if (reimburse != null && reimburse.getAmount() != null) {
+                    reimburseAmount = reimburse.getAmount().multiply(sign);
+                }
+            }
+        }
+
+        if (userStatsMapper.increaseStatus(application.getApplicantId(),
+                pendingDelta(fromStatus, toStatus), approvedDelta,
+                delta(STATUS_REJECTED, fromStatus, toStatus), delta(STATUS_WITHDRAWN, fromStatus, toStatus),
+                leaveDays, reimburseAmount) == 0) {
+            rebuild(application.getApplicantId());
+        }
+    }
+
+    @Override
+    public void onStatusChange(List<Application> applications, Map<Long, Integer> fromStatuses) {
+        List<Application> changed = applications.stream()
+                .filter(app -> !Objects.equals(fromStatuses.get(app.getAppId()), app.getStatus()))
+                .collect(Collectors.toList());
+        if (changed.isEmpty()) {
+            return;
+        }
+
+        // 进入或离开“已通过”的申请，天数/金额按类型各一次 IN 查询
+        List<Long> leaveIds = new ArrayList<>();
+        List<Long> reimburseIds = new ArrayList<>();
+        for (Application app : changed) {
+            if (delta(STATUS_APPROVED, fromStatuses.get(app.getAppId()), app.getStatus()) != 0) {
+                if ("leave".equals(app.getAppType())) {
+                    leaveIds.add(app.getAppId());
+                } else if ("reimburse".equals(app.getAppType())) {
+                    reimburseIds.add(app.getAppId());
+                }
+            }
+        }
+        Map<Long, BigDecimal> leaveDaysMap = new HashMap<>();
+        if (!leaveIds.isEmpty()) {
+            leaveApplicationMapper.selectList(new LambdaQueryWrapper<LeaveApplication>()
+                            .select(LeaveApplication::getAppId, LeaveApplication::getDays)
+                            .in(LeaveApplication::getAppId, leaveIds))
+                    .forEach(leave -> {
+                        if (leave.getDays() != null) {
+                            leaveDaysMap.put(leave.getAppId(), leave.getDays());
+                        }
+                    });
+        }
+        Map<Long, BigDecimal> reimburseAmountMap = new HashMap<>();
+        if (!reimburseIds.isEmpty()) {
+            reimburseApplicationMapper.selectList(new LambdaQueryWrapper<ReimburseApplication>()
+                            .select(ReimburseApplication::getAppId, ReimburseApplication::getAmount)
+                            .in(ReimburseApplication::getAppId, reimburseIds))
+                    .forEach(reimburse -> {
+                        if (reimburse.getAmount() != null) {
+                            reimburseAmountMap.put(reimburse.getAppId(), reimburse.getAmount());
+                        }
+                    });
+        }
+
+        // 按申请人汇总，按用户ID顺序更新统计行
+        Map<Long, StatusDelta> deltas = new TreeMap<>();
+        for (Application app : changed) {
+            Integer fromStatus = fromStatuses.get(app.getAppId());
+            Integer toStatus = app.getStatus();
+            int approvedDelta = delta(STATUS_APPROVED, fromStatus, toStatus);
+            BigDecimal sign = BigDecimal.valueOf(approvedDelta);
+
+            StatusDelta d = deltas.computeIfAbsent(app.getApplicantId(), k -> new StatusDelta());
+            d.pending += pendingDelta(fromStatus, toStatus);
+            d.approved += approvedDelta;
+            d.rejected += delta(STATUS_REJECTED, fromStatus, toStatus);
+            d.withdrawn += delta(STATUS_WITHDRAWN, fromStatus, toStatus);
+            d.leaveDays = d.leaveDays.add(leaveDaysMap.getOrDefault(app.getAppId(), BigDecimal.ZERO).multiply(sign));
+            d.reimburseAmount = d.reimburseAmount.add(
+                    reimburseAmountMap.getOrDefault(app.getAppId(), BigDecimal.ZERO).multiply(sign));
+        }
+
+        deltas.forEach((userId, d) -> {
+            if (userStatsMapper.increaseStatus(userId, d.pending, d.approved, d.rejected, d.withdrawn,
+                    d.leaveDays, d.reimburseAmount) == 0) {
+                rebuild(userId);
+            }
+        });
+    }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public UserStats rebuild(Long userId) {
+        userStatsMapper.lockByUserId(userId);
+        // 未消费事件的检查与汇总在同一读视图内：视图之后提交的事件不在汇总中，稍后照常增量
+        if (userStatsMapper.countUnconsumedEvents(userId, OUTBOX_CONSUMER) > 0) {
+            return null;
+        }
+        userStatsMapper.upsert(userId, applicationMapper.selectSummary(userId));
+        return userStatsMapper.selectById(userId);
+    }
+
+    private UserStats toUserStats(Long userId, ApplicationSummaryVo summary) {
+        UserStats stats = new UserStats();
+        stats.setUserId(userId);
+        stats.setTotalCount(summary.getTotalCount());
+        stats.setPendingCount(summary.getPendingCount());
+        stats.setApprovedCount(summary.getApprovedCount());
+        stats.setRejectedCount(summary.getRejectedCount());
+        stats.setWithdrawnCount(summary.getWithdrawnCount());
+        stats.setLeaveCount(summary.getLeaveCount());
+        stats.setReimburseCount(summary.getReimburseCount());
+        stats.setApprovedLeaveDays(summary.getTotalLeaveDays());
+        stats.setApprovedReimburseAmount(summary.getTotalReimburseAmount());
+        stats.setLastSubmitTime(summary.getLastSubmitTime());
+        return stats;
+    }
+
+    private int delta(int status, Integer fromStatus, Integer toStatus) {
+        return (Objects.equals(toStatus, status) ? 1 : 0) - (Objects.equals(fromStatus, status) ? 1 : 0);
+    }
+
+    /**
+     * 待审批与审批中（多节点流程未走完）都计入待审批数
+     */
+    private int pendingDelta(Integer fromStatus, Integer toStatus) {
+        return delta(STATUS_PENDING, fromStatus, toStatus) + delta(STATUS_IN_PROGRESS, fromStatus, toStatus);
+    }
+
+    /**
+     * 单个申请人的统计增量
+     */
+    private static class StatusDelta {
+        private int pending;
+        private int approved;
+        private int rejected;
+        private int withdrawn;
+        private BigDecimal leaveDays = BigDecimal.ZERO;
+        private BigDecimal reimburseAmount = BigDecimal.ZERO;
+    }
+}
@@ -0,0 +1,80 @@
+package com.approval.module.approval.support;
+
+import com.approval.module.approval.mapper.ApplicationMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 申请单号生成器
+ * 单号格式：AP + yyyyMMdd + 6位流水号，流水号按天从数据库号段批量预留，内存中无锁发放。
+ * 补充号段会在独立事务中占用一个连接，调用方应在业务事务开始前取号，避免同时持有两个连接
+ */
+@Component
+@RequiredArgsConstructor
+public class AppNoGenerator {
+
+    private static final String PREFIX = "AP";
+    private static final String SEQ_PREFIX = "app_no:";
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyyMMdd");
+
+    private final SequenceAllocator sequenceAllocator;
+    private final ApplicationMapper applicationMapper;
+
+    @Value("${approval.app-no.step:100}")
+    private long step;
+
+    private volatile Segment segment;
+
+    /**
+     * 生成下一个申请单号
+     */
+    public String next() {
+        String date = LocalDate.now().format(DATE_FORMATTER);
+        while (true) {
+            Segment current = segment;
+            if (current != null && current.date.equals(date)) {
+                long serial = current.next.getAndIncrement();
+                if (serial <= current.max) {
+                    return PREFIX + date + String.format("%06d", serial);
+                }
+            }
+            refill(current, date);
+        }
+    }
+
+    /**
+     * 当前号段用尽或跨天时预留新号段，仅一个线程访问数据库
+     */
+    private synchronized void refill(Segment exhausted, String date) {
+        if (segment != exhausted) {
+            return;
+        }
+        String appNoPrefix = PREFIX + date;
+        long max = sequenceAllocator.allocate(SEQ_PREFIX + date, step,
+                () -> {
+                    Long serial = applicationMapper.selectMaxSerial(appNoPrefix);
+                    return serial != null ? serial : 0L;
+                });
+        segment = new Segment(date, max - step + 1, max);
+    }
+
+    private static class Segment {
+
+        private final String date;
+
+        private final AtomicLong next;
+
+        private final long max;
+
+        Segment(String date, long first, long max) {
+            this.date = date;
+            this.next = new AtomicLong(first);
+            this.max = max;
+        }
+    }
+}
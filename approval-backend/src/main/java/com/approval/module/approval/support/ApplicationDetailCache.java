@@ -0,0 +1,60 @@
+package com.approval.module.approval.support;
+
+import com.approval.common.cache.TieredCache;
+import com.approval.common.cache.TieredCacheManager;
+import com.approval.module.approval.mapper.ApplicationMapper;
+import com.approval.module.approval.vo.ApplicationDetailVo;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * 申请详情缓存
+ * 按申请ID缓存详情（申请、类型详情、审批历史），以申请的更新时间作为版本：
+ * 读取时先取当前版本，与缓存中的版本不一致即重新加载；审批、撤回后同时主动失效
+ */
+@Component
+@RequiredArgsConstructor
+public class ApplicationDetailCache {
+
+    private final TieredCacheManager cacheManager;
+    private final ApplicationMapper applicationMapper;
+
+    @Value("${approval.cache.application-detail.max-size:1000}")
+    private int maxSize;
+
+    @Value("${approval.cache.application-detail.ttl:600000}")
+    private long ttl;
+
+    private TieredCache<ApplicationDetailVo> cache;
+
+    @PostConstruct
+    public void init() {
+        cache = cacheManager.getCache("applicationDetail", ApplicationDetailVo.class, maxSize, ttl);
+    }
+
+    public ApplicationDetailVo get(Long appId, Supplier<ApplicationDetailVo> loader) {
+        LocalDateTime version = applicationMapper.selectUpdateTime(appId);
+        if (version == null) {
+            // 申请不存在或已删除，交由 loader 处理（抛出 404）
+            return loader.get();
+        }
+
+        String key = String.valueOf(appId);
+        ApplicationDetailVo detail = cache.get(key, k -> loader.get());
+        if (!Objects.equals(version, detail.getVersion())) {
+            detail = loader.get();
+            cache.put(key, detail);
+        }
+        return detail;
+    }
+
+    public void evict(Long appId) {
+        cache.evict(String.valueOf(appId));
+    }
+}
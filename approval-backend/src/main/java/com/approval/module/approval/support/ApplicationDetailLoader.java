@@ -0,0 +1,122 @@
+package com.approval.module.approval.support;
+
+import com.approval.common.exception.BusinessException;
+import com.approval.module.approval.entity.Application;
+import com.approval.module.approval.entity.History;
+import com.approval.module.approval.mapper.ApplicationMapper;
+import com.approval.module.approval.mapper.HistoryMapper;
+import com.approval.module.approval.mapper.LeaveApplicationMapper;
+import com.approval.module.approval.mapper.ReimburseApplicationMapper;
+import com.approval.module.approval.vo.ApplicationDetailVo;
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * 申请详情加载器
+ * 先查申请主表，再并发查询类型详情与审批历史（二者互不依赖），详情加载约为两次数据库往返。
+ * 调用方处于事务中时在当前线程顺序执行，保证所有查询使用同一连接与一致性视图
+ */
+@Component
+@RequiredArgsConstructor
+public class ApplicationDetailLoader {
+
+    private final ApplicationMapper applicationMapper;
+    private final LeaveApplicationMapper leaveApplicationMapper;
+    private final ReimburseApplicationMapper reimburseApplicationMapper;
+    private final HistoryMapper historyMapper;
+
+    @Value("${approval.detail-loader.pool-size:8}")
+    private int poolSize;
+
+    @Value("${approval.detail-loader.queue-capacity:200}")
+    private int queueCapacity;
+
+    private ThreadPoolTaskExecutor executor;
+
+    /**
+     * 有界线程池，队列满时由调用线程直接执行，退化为顺序加载而不是拒绝请求。
+     * 不注册为 Bean，以免替换 Spring Boot 默认的 applicationTaskExecutor
+     */
+    @PostConstruct
+    public void init() {
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("detail-load-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.initialize();
+    }
+
+    @PreDestroy
+    public void destroy() {
+        executor.shutdown();
+    }
+
+    public ApplicationDetailVo load(Long appId) {
+        Application application = applicationMapper.selectById(appId);
+        if (application == null) {
+            throw new BusinessException(404, "申请不存在");
+        }
+
+        ApplicationDetailVo vo = new ApplicationDetailVo();
+        vo.setApplication(application);
+
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            vo.setDetail(loadTypeDetail(application));
+            vo.setHistory(loadHistory(appId));
+            return vo;
+        }
+
+        // 类型详情交给线程池，审批历史在当前线程查询，减少一次线程切换
+        CompletableFuture<Object> detailFuture = CompletableFuture.supplyAsync(() -> loadTypeDetail(application), executor);
+        List<History> history;
+        try {
+            history = loadHistory(appId);
+        } catch (RuntimeException e) {
+            detailFuture.cancel(false);
+            throw e;
+        }
+        vo.setDetail(join(detailFuture));
+        vo.setHistory(history);
+        return vo;
+    }
+
+    private Object loadTypeDetail(Application application) {
+        if ("leave".equals(application.getAppType())) {
+            return leaveApplicationMapper.selectDetailByAppId(application.getAppId());
+        }
+        if ("reimburse".equals(application.getAppType())) {
+            return reimburseApplicationMapper.selectDetailByAppId(application.getAppId());
+        }
+        return null;
+    }
+
+    private List<History> loadHistory(Long appId) {
+        return historyMapper.selectList(new LambdaQueryWrapper<History>()
+                .eq(History::getAppId, appId)
+                .orderByDesc(History::getCreateTime));
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
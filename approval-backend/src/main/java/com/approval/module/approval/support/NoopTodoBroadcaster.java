@@ -0,0 +1,19 @@
+package com.approval.module.approval.support;
+
+import com.approval.module.approval.event.TodoChangedEvent;
+
+import java.util.function.Consumer;
+
+/**
+ * 单节点部署（未启用 Redis）时的空实现
+ */
+public class NoopTodoBroadcaster implements TodoBroadcaster {
+
+    @Override
+    public void publish(TodoChangedEvent event) {
+    }
+
+    @Override
+    public void subscribe(Consumer<TodoChangedEvent> listener) {
+    }
+}
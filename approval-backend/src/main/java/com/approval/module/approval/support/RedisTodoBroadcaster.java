@@ -0,0 +1,77 @@
+package com.approval.module.approval.support;
+
+import com.approval.module.approval.event.TodoChangedEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * 基于 Redis pub/sub 的待办变更广播
+ * 与二级缓存共用监听容器与连接，消息为带节点标识的 JSON，忽略本节点发出的消息；Redis 不可用时只推送本节点
+ */
+@Slf4j
+public class RedisTodoBroadcaster implements TodoBroadcaster {
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final ChannelTopic topic;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    public RedisTodoBroadcaster(StringRedisTemplate redisTemplate, ObjectMapper objectMapper,
+                                RedisMessageListenerContainer listenerContainer, String channel) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.listenerContainer = listenerContainer;
+        this.topic = new ChannelTopic(channel);
+    }
+
+    @Override
+    public void publish(TodoChangedEvent event) {
+        try {
+            Payload payload = new Payload();
+            payload.setNodeId(nodeId);
+            payload.setType(event.getType());
+            payload.setTaskIds(event.getTaskIds());
+            payload.setAppIds(event.getAppIds());
+            redisTemplate.convertAndSend(topic.getTopic(), objectMapper.writeValueAsString(payload));
+        } catch (Exception e) {
+            log.warn("广播待办变更失败：{}", event.getType(), e);
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<TodoChangedEvent> listener) {
+        listenerContainer.addMessageListener((message, pattern) -> {
+            try {
+                Payload payload = objectMapper.readValue(message.getBody(), Payload.class);
+                if (!nodeId.equals(payload.getNodeId())) {
+                    listener.accept(new TodoChangedEvent(payload.getType(), payload.getTaskIds(), payload.getAppIds()));
+                }
+            } catch (Exception e) {
+                log.warn("解析待办变更广播失败", e);
+            }
+        }, topic);
+    }
+
+    @Data
+    @NoArgsConstructor
+    public static class Payload {
+
+        private String nodeId;
+
+        private String type;
+
+        private List<Long> taskIds;
+
+        private List<Long> appIds;
+    }
+}
@@ -0,0 +1,35 @@
+package com.approval.module.approval.support;
+
+import com.approval.module.approval.mapper.SequenceMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.function.LongSupplier;
+
+/**
+ * 号段分配器
+ * 在独立事务中预留号段并立即提交，行锁只持有一条 UPDATE 的时间，不随业务事务回滚
+ */
+@Component
+@RequiredArgsConstructor
+public class SequenceAllocator {
+
+    private final SequenceMapper sequenceMapper;
+
+    /**
+     * 预留 step 个序号
+     *
+     * @param initValue 序列不存在时的初始值（即已被占用的最大值）
+     * @return 本次号段的最大值，可用区间为 (返回值 - step, 返回值]
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW, rollbackFor = Exception.class)
+    public long allocate(String seqName, long step, LongSupplier initValue) {
+        if (sequenceMapper.increaseMaxValue(seqName, step) == 0) {
+            sequenceMapper.insertIgnore(seqName, initValue.getAsLong());
+            sequenceMapper.increaseMaxValue(seqName, step);
+        }
+        return sequenceMapper.selectMaxValue(seqName);
+    }
+}
@@ -0,0 +1,22 @@
+package com.approval.module.approval.support;
+
+import com.approval.module.approval.event.TodoChangedEvent;
+
+import java.util.function.Consumer;
+
+/**
+ * 待办变更的跨节点广播
+ * 发件箱可能由任意节点投递，订阅者却连接在各自的节点上，投递节点推送本地订阅者后经此通知其他节点
+ */
+public interface TodoBroadcaster {
+
+    /**
+     * 把待办变更广播给其他节点
+     */
+    void publish(TodoChangedEvent event);
+
+    /**
+     * 订阅其他节点广播的待办变更
+     */
+    void subscribe(Consumer<TodoChangedEvent> listener);
+}
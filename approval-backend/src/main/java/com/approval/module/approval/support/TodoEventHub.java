@@ -0,0 +1,293 @@
+package com.approval.module.approval.support;
+
+import com.approval.common.security.LoginUser;
+import com.approval.module.approval.event.TodoChangedEvent;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 待办事件推送中心（SSE）
+ * 事务提交后把待办变更扇出给订阅的审批员（审批员共享同一个待办池，只推送任务与申请ID）。
+ * 每个订阅者一个有界队列，由推送线程池异步写出，
+ * 慢连接不会阻塞业务线程；队列满时丢弃最旧的事件，并在下一次写出时发送 resync 提示客户端整体刷新。
+ * 单次写出超过 send-timeout 的订阅者会被摘除，线程池按需扩容，卡住的连接不会拖住其他订阅者。
+ * 多节点部署时经 TodoBroadcaster 通知其他节点推送各自的订阅者
+ */
+@Slf4j
+@Component
+public class TodoEventHub {
+
+    private static final String EVENT_RESYNC = "resync";
+    private static final List<String> APPROVER_ROLES = List.of("ROLE_APPROVER", "ROLE_ADMIN");
+
+    @Value("${approval.todo-stream.timeout:1800000}")
+    private long timeout;
+
+    @Value("${approval.todo-stream.buffer-size:64}")
+    private int bufferSize;
+
+    @Value("${approval.todo-stream.push-threads:2}")
+    private int pushThreads;
+
+    @Value("${approval.todo-stream.max-push-threads:16}")
+    private int maxPushThreads;
+
+    @Value("${approval.todo-stream.send-timeout:5000}")
+    private long sendTimeout;
+
+    private final Map<Long, Subscriber> subscribers = new ConcurrentHashMap<>();
+    private final AtomicLong idGenerator = new AtomicLong();
+    private final TodoBroadcaster broadcaster;
+    private ThreadPoolTaskExecutor executor;
+
+    public TodoEventHub(ObjectProvider<TodoBroadcaster> broadcasterProvider) {
+        this.broadcaster = broadcasterProvider.getIfAvailable(NoopTodoBroadcaster::new);
+        this.broadcaster.subscribe(this::deliver);
+    }
+
+    @PostConstruct
+    public void init() {
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(pushThreads);
+        executor.setMaxPoolSize(Math.max(pushThreads, maxPushThreads));
+        // 不排队：核心线程被卡住的写出占满时直接扩容，到上限后由心跳重新调度
+        executor.setQueueCapacity(0);
+        executor.setThreadNamePrefix("todo-push-");
+        executor.initialize();
+    }
+
+    @PreDestroy
+    public void destroy() {
+        subscribers.values().forEach(subscriber -> subscriber.emitter.complete());
+        subscribers.clear();
+        executor.shutdown();
+    }
+
+    /**
+     * 订阅待办变更；非审批员的连接只收到心跳
+     */
+    public SseEmitter subscribe(LoginUser loginUser) {
+        SseEmitter emitter = new SseEmitter(timeout);
+        boolean approver = loginUser.getRoles() != null
+                && loginUser.getRoles().stream().anyMatch(APPROVER_ROLES::contains);
+        Subscriber subscriber = new Subscriber(idGenerator.incrementAndGet(), loginUser.getUserId(), approver, emitter);
+        subscribers.put(subscriber.id, subscriber);
+
+        emitter.onCompletion(() -> subscribers.remove(subscriber.id));
+        emitter.onTimeout(() -> subscribers.remove(subscriber.id));
+        emitter.onError(e -> subscribers.remove(subscriber.id));
+
+        // 立即写出一条注释，让代理尽早建立流
+        offer(subscriber, Message.HEARTBEAT);
+        return emitter;
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    /**
+     * 业务事务提交后推送本节点订阅者并广播给其他节点；无事务时直接执行
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTodoChanged(TodoChangedEvent event) {
+        deliver(event);
+        broadcaster.publish(event);
+    }
+
+    /**
+     * 推送给本节点的订阅者
+     */
+    private void deliver(TodoChangedEvent event) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        Message message = new Message(event.getType(), event);
+        subscribers.values().stream()
+                .filter(subscriber -> subscriber.approver)
+                .forEach(subscriber -> offer(subscriber, message));
+    }
+
+    /**
+     * 心跳，保持空闲连接并及时发现断开的客户端；队列中已有待写出内容的订阅者跳过，
+     * 若其写出曾因线程池满被拒绝则重新调度
+     */
+    @Scheduled(fixedDelayString = "${approval.todo-stream.heartbeat:25000}")
+    public void heartbeat() {
+        subscribers.values().forEach(subscriber -> {
+            boolean pending;
+            synchronized (subscriber) {
+                pending = !subscriber.queue.isEmpty();
+                if (pending) {
+                    if (subscriber.draining || subscriber.closed) {
+                        return;
+                    }
+                    subscriber.draining = true;
+                }
+            }
+            if (pending) {
+                schedule(subscriber);
+            } else {
+                offer(subscriber, Message.HEARTBEAT);
+            }
+        });
+    }
+
+    /**
+     * 摘除单次写出超时的订阅者：不再向其投递事件，写出线程返回后结束连接，客户端自动重连
+     * <p>
+     * 这里不直接 complete：SseEmitter 的 send 与 complete 互斥，会把定时线程一起卡住
+     */
+    @Scheduled(fixedDelayString = "${approval.todo-stream.send-timeout:5000}")
+    public void evictStalled() {
+        long now = System.currentTimeMillis();
+        subscribers.values().forEach(subscriber -> {
+            long since = subscriber.sendingSince;
+            if (since > 0 && now - since > sendTimeout) {
+                log.warn("待办推送写出超时，断开订阅，userId={}", subscriber.userId);
+                subscribers.remove(subscriber.id);
+                synchronized (subscriber) {
+                    subscriber.closed = true;
+                    subscriber.queue.clear();
+                }
+            }
+        });
+    }
+
+    private void offer(Subscriber subscriber, Message message) {
+        boolean schedule = false;
+        synchronized (subscriber) {
+            if (subscriber.closed) {
+                return;
+            }
+            if (subscriber.queue.size() >= bufferSize) {
+                subscriber.queue.pollFirst();
+                subscriber.overflowed = true;
+            }
+            subscriber.queue.addLast(message);
+            if (!subscriber.draining) {
+                subscriber.draining = true;
+                schedule = true;
+            }
+        }
+        if (schedule) {
+            schedule(subscriber);
+        }
+    }
+
+    private void schedule(Subscriber subscriber) {
+        try {
+            executor.execute(() -> drain(subscriber));
+        } catch (TaskRejectedException e) {
+            // 推送线程已全部占满，事件留在队列中，由下一次心跳重新调度
+            log.warn("待办推送线程池已满，延后推送，userId={}", subscriber.userId);
+            synchronized (subscriber) {
+                subscriber.draining = false;
+            }
+        }
+    }
+
+    /**
+     * 写出订阅者队列中的事件，同一订阅者同时只有一个线程在写
+     */
+    private void drain(Subscriber subscriber) {
+        while (true) {
+            Message message;
+            boolean resync;
+            synchronized (subscriber) {
+                if (subscriber.closed) {
+                    subscriber.draining = false;
+                    break;
+                }
+                if (subscriber.queue.isEmpty()) {
+                    subscriber.draining = false;
+                    return;
+                }
+                resync = subscriber.overflowed;
+                subscriber.overflowed = false;
+                if (resync) {
+                    // 已有事件被丢弃，剩余增量没有意义，改为提示客户端整体刷新
+                    subscriber.queue.clear();
+                    message = null;
+                } else {
+                    message = subscriber.queue.pollFirst();
+                }
+            }
+
+            subscriber.sendingSince = System.currentTimeMillis();
+            try {
+                if (resync) {
+                    subscriber.emitter.send(SseEmitter.event().name(EVENT_RESYNC).data("{}", MediaType.APPLICATION_JSON));
+                } else if (message == Message.HEARTBEAT) {
+                    subscriber.emitter.send(SseEmitter.event().comment("ping"));
+                } else {
+                    subscriber.emitter.send(SseEmitter.event().name(message.name).data(message.data, MediaType.APPLICATION_JSON));
+                }
+            } catch (IOException | IllegalStateException e) {
+                log.debug("待办推送连接已断开，userId={}", subscriber.userId);
+                subscribers.remove(subscriber.id);
+                subscriber.emitter.completeWithError(e);
+                synchronized (subscriber) {
+                    subscriber.closed = true;
+                    subscriber.queue.clear();
+                    subscriber.draining = false;
+                }
+                return;
+            } finally {
+                subscriber.sendingSince = 0;
+            }
+        }
+        // 写出超时已被摘除，卡住的写出返回后结束连接
+        subscriber.emitter.complete();
+    }
+
+    private static class Subscriber {
+        private final Long id;
+        private final Long userId;
+        private final boolean approver;
+        private final SseEmitter emitter;
+        private final Deque<Message> queue = new ArrayDeque<>();
+        private boolean overflowed;
+        private boolean draining;
+        private boolean closed;
+        /** 当前写出的开始时间，0 表示空闲 */
+        private volatile long sendingSince;
+
+        private Subscriber(Long id, Long userId, boolean approver, SseEmitter emitter) {
+            this.id = id;
+            this.userId = userId;
+            this.approver = approver;
+            this.emitter = emitter;
+        }
+    }
+
+    private static class Message {
+        private static final Message HEARTBEAT = new Message(null, null);
+
+        private final String name;
+        private final Object data;
+
+        private Message(String name, Object data) {
+            this.name = name;
+            this.data = data;
+        }
+    }
+}
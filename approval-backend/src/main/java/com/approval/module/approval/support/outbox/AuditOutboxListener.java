@@ -0,0 +1,25 @@
+package com.approval.module.approval.support.outbox;
+
+import com.approval.module.approval.event.ApprovalEvent;
+import com.approval.module.approval.mapper.AuditLogMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 审计日志消费者，按事件ID唯一写入，重复投递被忽略
+ */
+@Component
+@RequiredArgsConstructor
+public class AuditOutboxListener implements OutboxListener {
+
+    private final AuditLogMapper auditLogMapper;
+
+    @Override
+    public void onEvents(List<ApprovalEvent> events) {
+        if (!events.isEmpty()) {
+            auditLogMapper.insertIgnoreBatch(events);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.approval.module.approval.support.outbox;
+
+import com.approval.module.approval.event.ApprovalEvent;
+import com.approval.module.approval.support.ApplicationDetailCache;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 申请详情缓存失效消费者（失效天然幂等）
+ */
+@Component
+@RequiredArgsConstructor
+public class DetailCacheOutboxListener implements OutboxListener {
+
+    private final ApplicationDetailCache applicationDetailCache;
+
+    @Override
+    public void onEvents(List<ApprovalEvent> events) {
+        events.stream()
+                .filter(event -> ApprovalEvent.STATUS_CHANGED.equals(event.getEventType()))
+                .map(ApprovalEvent::getAppId)
+                .distinct()
+                .forEach(applicationDetailCache::evict);
+    }
+}
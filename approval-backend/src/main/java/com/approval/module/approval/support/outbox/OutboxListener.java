@@ -0,0 +1,17 @@
+package com.approval.module.approval.support.outbox;
+
+import com.approval.module.approval.event.ApprovalEvent;
+
+import java.util.List;
+
+/**
+ * 发件箱事件消费者
+ * 投递保证至少一次：同一事件可能因失败重试或节点宕机被重复投递，实现必须幂等
+ */
+public interface OutboxListener {
+
+    /**
+     * 消费一批事件，与标记已投递处于同一事务；抛出异常时整批回滚并重试
+     */
+    void onEvents(List<ApprovalEvent> events);
+}
@@ -0,0 +1,67 @@
+package com.approval.module.approval.support.outbox;
+
+import com.approval.module.approval.entity.Outbox;
+import com.approval.module.approval.event.ApprovalEvent;
+import com.approval.module.approval.mapper.OutboxMapper;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * 发件箱写入
+ * 必须在业务事务内调用，事件与状态变更一起提交或回滚；提交后唤醒转发任务立即投递
+ */
+@Component
+@RequiredArgsConstructor
+public class OutboxPublisher {
+
+    private final OutboxMapper outboxMapper;
+    private final ObjectMapper objectMapper;
+    private final OutboxRelay outboxRelay;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publish(ApprovalEvent event) {
+        publishAll(List.of(event));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publishAll(List<ApprovalEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        outboxMapper.insertBatch(events.stream().map(event -> {
+            Outbox outbox = new Outbox();
+            outbox.setEventType(event.getEventType());
+            outbox.setAggregateId(event.getAppId());
+            outbox.setPayload(toJson(event));
+            outbox.setNextRetryTime(now);
+            outbox.setCreateTime(now);
+            return outbox;
+        }).collect(Collectors.toList()));
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                outboxRelay.trigger();
+            }
+        });
+    }
+
+    private String toJson(ApprovalEvent event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("事件序列化失败：" + event.getEventType(), e);
+        }
+    }
+}
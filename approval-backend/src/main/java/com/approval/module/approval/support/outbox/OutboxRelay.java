@@ -0,0 +1,193 @@
+package com.approval.module.approval.support.outbox;
+
+import com.approval.module.approval.entity.Outbox;
+import com.approval.module.approval.event.ApprovalEvent;
+import com.approval.module.approval.mapper.OutboxConsumedMapper;
+import com.approval.module.approval.mapper.OutboxMapper;
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * 发件箱转发任务
+ * 业务事务提交后立即唤醒，另有定时轮询兜底。每批在一个事务内领取（SKIP LOCKED，多节点互不阻塞）、
+ * 投递给全部消费者并标记已投递；整批失败时逐条重试以隔离问题事件，失败事件按退避时间再次投递
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OutboxRelay {
+
+    private final OutboxMapper outboxMapper;
+    private final OutboxConsumedMapper outboxConsumedMapper;
+    private final List<OutboxListener> listeners;
+    private final PlatformTransactionManager transactionManager;
+    private final ObjectMapper objectMapper;
+
+    @Value("${approval.outbox.batch-size:100}")
+    private int batchSize;
+
+    @Value("${approval.outbox.max-retries:10}")
+    private int maxRetries;
+
+    @Value("${approval.outbox.retention-days:7}")
+    private int retentionDays;
+
+    private TransactionTemplate transactionTemplate;
+    private ExecutorService executor;
+    private final AtomicBoolean pending = new AtomicBoolean(false);
+
+    @PostConstruct
+    public void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        executor = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "outbox-relay");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void destroy() {
+        executor.shutdown();
+    }
+
+    /**
+     * 唤醒转发；已有待执行的转发时合并为一次
+     */
+    public void trigger() {
+        if (pending.compareAndSet(false, true)) {
+            executor.execute(() -> {
+                pending.set(false);
+                relay();
+            });
+        }
+    }
+
+    /**
+     * 定时兜底：处理唤醒丢失（如节点重启）和到达重试时间的事件
+     */
+    @Scheduled(fixedDelayString = "${approval.outbox.poll-interval:5000}")
+    public void poll() {
+        trigger();
+    }
+
+    /**
+     * 清理过期的已投递事件与消费记录
+     */
+    @Scheduled(cron = "${approval.outbox.cleanup-cron:0 0 4 * * ?}")
+    public void cleanup() {
+        LocalDateTime before = LocalDateTime.now().minusDays(retentionDays);
+        int outboxCount = 0;
+        int deleted;
+        while ((deleted = outboxMapper.deleteProcessed(before, 1000)) > 0) {
+            outboxCount += deleted;
+        }
+        int consumedCount = 0;
+        while ((deleted = outboxConsumedMapper.deleteBefore(before, 1000)) > 0) {
+            consumedCount += deleted;
+        }
+        log.info("发件箱清理完成：事件 {} 条，消费记录 {} 条", outboxCount, consumedCount);
+    }
+
+    private void relay() {
+        try {
+            int count;
+            do {
+                count = relayBatch();
+            } while (count >= batchSize);
+        } catch (Exception e) {
+            log.error("发件箱转发异常", e);
+        }
+    }
+
+    /**
+     * 转发一批事件，返回本批领取的数量
+     */
+    private int relayBatch() {
+        List<Long> claimedIds;
+        try {
+            claimedIds = transactionTemplate.execute(status -> {
+                List<Outbox> batch = outboxMapper.claimPending(LocalDateTime.now(), batchSize);
+                if (!batch.isEmpty()) {
+                    dispatch(batch);
+                    outboxMapper.markProcessed(batch.stream().map(Outbox::getOutboxId).collect(Collectors.toList()),
+                            LocalDateTime.now());
+                }
+                return batch.stream().map(Outbox::getOutboxId).collect(Collectors.toList());
+            });
+        } catch (Exception e) {
+            log.warn("发件箱整批投递失败，改为逐条投递", e);
+            return relayOneByOne();
+        }
+        return claimedIds == null ? 0 : claimedIds.size();
+    }
+
+    private int relayOneByOne() {
+        List<Long> ids = outboxMapper.selectList(new LambdaQueryWrapper<Outbox>()
+                        .select(Outbox::getOutboxId)
+                        .eq(Outbox::getStatus, 0)
+                        .le(Outbox::getNextRetryTime, LocalDateTime.now())
+                        .orderByAsc(Outbox::getOutboxId)
+                        .last("LIMIT " + batchSize))
+                .stream().map(Outbox::getOutboxId).collect(Collectors.toList());
+
+        for (Long outboxId : ids) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    Outbox outbox = outboxMapper.claimById(outboxId);
+                    if (outbox != null) {
+                        dispatch(List.of(outbox));
+                        outboxMapper.markProcessed(List.of(outboxId), LocalDateTime.now());
+                    }
+                });
+            } catch (Exception e) {
+                log.warn("发件箱事件投递失败：outboxId={}", outboxId, e);
+                String error = e.getMessage() == null ? e.getClass().getName() : e.getMessage();
+                outboxMapper.markFailed(outboxId, error.length() > 500 ? error.substring(0, 500) : error,
+                        LocalDateTime.now().plusSeconds(backoffSeconds(outboxId)), maxRetries);
+            }
+        }
+        return ids.size();
+    }
+
+    /**
+     * 指数退避：5s、10s、20s……最长 1 小时
+     */
+    private long backoffSeconds(Long outboxId) {
+        Outbox outbox = outboxMapper.selectById(outboxId);
+        int retryCount = outbox != null && outbox.getRetryCount() != null ? outbox.getRetryCount() : 0;
+        return Math.min(5L << Math.min(retryCount, 10), 3600L);
+    }
+
+    private void dispatch(List<Outbox> batch) {
+        List<ApprovalEvent> events = batch.stream().map(this::toEvent).collect(Collectors.toList());
+        listeners.forEach(listener -> listener.onEvents(events));
+    }
+
+    private ApprovalEvent toEvent(Outbox outbox) {
+        try {
+            ApprovalEvent event = objectMapper.readValue(outbox.getPayload(), ApprovalEvent.class);
+            event.setOutboxId(outbox.getOutboxId());
+            return event;
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("事件反序列化失败：outboxId=" + outbox.getOutboxId(), e);
+        }
+    }
+}
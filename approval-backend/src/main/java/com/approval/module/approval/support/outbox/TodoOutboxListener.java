@@ -0,0 +1,40 @@
+package com.approval.module.approval.support.outbox;
+
+import com.approval.module.approval.event.ApprovalEvent;
+import com.approval.module.approval.event.TodoChangedEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * 待办推送消费者
+ * 转换为待办变更事件交给 TodoEventHub，在投递事务提交后推送；重复投递只会让客户端多刷新一次
+ */
+@Component
+@RequiredArgsConstructor
+public class TodoOutboxListener implements OutboxListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Override
+    public void onEvents(List<ApprovalEvent> events) {
+        events.stream()
+                .filter(event -> ApprovalEvent.SUBMITTED.equals(event.getEventType())
+                        || ApprovalEvent.TASK_ASSIGNED.equals(event.getEventType()))
+                .forEach(event -> eventPublisher.publishEvent(
+                        TodoChangedEvent.added(event.getTaskIds().get(0), event.getAppId())));
+
+        // 结束的待办合并为一条事件，批量审批不会冲满订阅者队列
+        List<ApprovalEvent> removed = events.stream()
+                .filter(event -> ApprovalEvent.STATUS_CHANGED.equals(event.getEventType()))
+                .collect(Collectors.toList());
+        if (!removed.isEmpty()) {
+            eventPublisher.publishEvent(TodoChangedEvent.removed(
+                    removed.stream().flatMap(event -> event.getTaskIds().stream()).collect(Collectors.toList()),
+                    removed.stream().map(ApprovalEvent::getAppId).distinct().collect(Collectors.toList())));
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.approval.module.approval.support.outbox;
+
+import com.approval.module.approval.entity.Application;
+import com.approval.module.approval.event.ApprovalEvent;
+import com.approval.module.approval.mapper.OutboxConsumedMapper;
+import com.approval.module.approval.service.IUserStatsService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 用户统计消费者
+ * 统计是增量更新，不天然幂等：先登记消费记录，已登记过的事件跳过，登记与增量在同一事务内
+ */
+@Component
+@RequiredArgsConstructor
+public class UserStatsOutboxListener implements OutboxListener {
+
+    private final OutboxConsumedMapper outboxConsumedMapper;
+    private final IUserStatsService userStatsService;
+
+    @Override
+    public void onEvents(List<ApprovalEvent> events) {
+        List<Application> changed = new ArrayList<>();
+        Map<Long, Integer> fromStatuses = new HashMap<>();
+
+        for (ApprovalEvent event : events) {
+            if (outboxConsumedMapper.insertIgnore(event.getOutboxId(), IUserStatsService.OUTBOX_CONSUMER) == 0) {
+                continue;
+            }
+            if (ApprovalEvent.SUBMITTED.equals(event.getEventType())) {
+                userStatsService.onSubmit(event.toApplication());
+            } else if (ApprovalEvent.STATUS_CHANGED.equals(event.getEventType())) {
+                if (fromStatuses.containsKey(event.getAppId())) {
+                    // 同一批内同一申请多次变更，先结算已累积的部分
+                    userStatsService.onStatusChange(changed, fromStatuses);
+                    changed.clear();
+                    fromStatuses.clear();
+                }
+                changed.add(event.toApplication());
+                fromStatuses.put(event.getAppId(), event.getFromStatus());
+            }
+        }
+
+        if (!changed.isEmpty()) {
+            userStatsService.onStatusChange(changed, fromStatuses);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.approval.module.approval.vo;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * 管理端审批数据列表VO
+ */
+@Data
+public class AdminApplicationVo {
+
+    private Long appId;
+
+    private String appNo;
+
+    private String appType;
+
+    private String title;
+
+    private Long applicantId;
+
+    private String applicantName;
+
+    private String deptName;
+
+    private Integer status;
+
+    private String currentNode;
+
+    /** 请假类型（仅请假单使用） */
+    private Integer leaveType;
+
+    /** 请假天数 */
+    private BigDecimal leaveDays;
+
+    /** 报销类型（仅报销单使用） */
+    private Integer expenseType;
+
+    /** 报销金额 */
+    private BigDecimal expenseAmount;
+
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime submitTime;
+
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime finishTime;
+}
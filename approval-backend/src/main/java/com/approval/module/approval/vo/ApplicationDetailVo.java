@@ -0,0 +1,42 @@
+package com.approval.module.approval.vo;
+
+import com.approval.module.approval.entity.Application;
+import com.approval.module.approval.entity.History;
+import com.approval.module.approval.entity.LeaveApplication;
+import com.approval.module.approval.entity.ReimburseApplication;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonSubTypes;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 申请详情视图对象
+ */
+@Data
+public class ApplicationDetailVo {
+
+    /** 申请主表 */
+    private Application application;
+
+    /** 类型详情（请假/报销），序列化时附带同级 detailType 字段用于反序列化 */
+    @JsonTypeInfo(use = JsonTypeInfo.Id.NAME, include = JsonTypeInfo.As.EXTERNAL_PROPERTY, property = "detailType")
+    @JsonSubTypes({
+            @JsonSubTypes.Type(value = LeaveApplication.class, name = "leave"),
+            @JsonSubTypes.Type(value = ReimburseApplication.class, name = "reimburse")
+    })
+    private Object detail;
+
+    /** 审批历史，按时间倒序 */
+    private List<History> history;
+
+    /**
+     * 详情版本，即申请的更新时间
+     */
+    @JsonIgnore
+    public LocalDateTime getVersion() {
+        return application != null ? application.getUpdateTime() : null;
+    }
+}
@@ -0,0 +1,35 @@
+package com.approval.module.approval.vo;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 批量审批结果VO
+ */
+@Data
+public class BatchApproveResultVo {
+
+    private int successCount;
+
+    private int failCount;
+
+    /** 逐项结果，顺序与请求一致 */
+    private List<Item> items = new ArrayList<>();
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Item {
+
+        private Long taskId;
+
+        private boolean success;
+
+        /** 失败原因 */
+        private String message;
+    }
+}
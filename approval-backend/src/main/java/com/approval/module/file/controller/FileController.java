@@ -0,0 +1,56 @@
+package com.approval.module.file.controller;
+
+import com.approval.common.result.Result;
+import com.approval.common.security.CurrentUser;
+import com.approval.common.security.LoginUser;
+import com.approval.module.file.entity.SysFile;
+import com.approval.module.file.service.IFileService;
+import com.approval.module.file.support.FileSender;
+import com.approval.module.file.vo.FileVo;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+
+/**
+ * 文件管理控制器
+ */
+@Tag(name = "文件管理")
+@RestController
+@RequestMapping("/file")
+@RequiredArgsConstructor
+public class FileController {
+
+    private final IFileService fileService;
+    private final FileSender fileSender;
+
+    @Operation(summary = "上传文件")
+    @PostMapping("/upload")
+    public Result<FileVo> upload(
+            @RequestParam("file") MultipartFile file,
+            @CurrentUser LoginUser loginUser) {
+        Long userId = loginUser.getUserId();
+        FileVo vo = fileService.upload(file, userId);
+        return Result.success(vo);
+    }
+
+    @Operation(summary = "查询文件信息")
+    @GetMapping("/{fileId}/info")
+    public Result<FileVo> getFileInfo(@PathVariable Long fileId, @CurrentUser LoginUser loginUser) {
+        FileVo vo = fileService.getFileInfo(fileId, loginUser);
+        return Result.success(vo);
+    }
+
+    @Operation(summary = "下载文件", description = "支持 Range 断点续传与 ETag 缓存校验")
+    @GetMapping("/{fileId}")
+    public void download(@PathVariable Long fileId, @CurrentUser LoginUser loginUser,
+                         HttpServletRequest request, HttpServletResponse response) throws IOException {
+        SysFile file = fileService.getFile(fileId, loginUser);
+        fileSender.send(file, fileService.resolvePath(file), request, response);
+    }
+}
@@ -0,0 +1,41 @@
+package com.approval.module.file.entity;
+
+import com.baomidou.mybatisplus.annotation.IdType;
+import com.baomidou.mybatisplus.annotation.TableId;
+import com.baomidou.mybatisplus.annotation.TableLogic;
+import com.baomidou.mybatisplus.annotation.TableName;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * 文件表
+ */
+@Data
+@TableName("sys_file")
+public class SysFile {
+
+    @TableId(type = IdType.AUTO)
+    private Long fileId;
+
+    private String fileName;
+
+    private String filePath; // 相对存储根目录的路径，内容相同的文件共用同一路径
+
+    private Long fileSize;
+
+    private String fileType;
+
+    private String sha256;
+
+    private String businessType; // leave=请假附件 reimburse=报销发票
+
+    private Long businessId;
+
+    private Long uploaderId;
+
+    @TableLogic
+    private Integer delFlag;
+
+    private LocalDateTime createTime;
+}
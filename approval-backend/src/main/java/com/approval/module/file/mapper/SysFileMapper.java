@@ -0,0 +1,22 @@
+package com.approval.module.file.mapper;
+
+import com.approval.module.file.entity.SysFile;
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Update;
+
+/**
+ * 文件Mapper
+ */
+@Mapper
+public interface SysFileMapper extends BaseMapper<SysFile> {
+
+    /**
+     * 将上传人尚未使用的文件绑定到业务单据
+     */
+    @Update("UPDATE sys_file SET business_type = #{businessType}, business_id = #{businessId} " +
+            "WHERE file_id = #{fileId} AND uploader_id = #{uploaderId} AND business_id IS NULL AND del_flag = 0")
+    int bindBusiness(@Param("fileId") Long fileId, @Param("uploaderId") Long uploaderId,
+                     @Param("businessType") String businessType, @Param("businessId") Long businessId);
+}
@@ -0,0 +1,47 @@
+package com.approval.module.file.service;
+
+import com.approval.common.security.LoginUser;
+import com.approval.module.file.entity.SysFile;
+import com.approval.module.file.vo.FileVo;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.InputStream;
+import java.nio.file.Path;
+
+/**
+ * 文件服务接口
+ */
+public interface IFileService {
+
+    /**
+     * 上传文件
+     */
+    FileVo upload(MultipartFile file, Long uploaderId);
+
+    /**
+     * 按内容存储文件并登记，内容相同的文件只保存一份；类型按文件头识别，白名单外记为 application/octet-stream
+     */
+    SysFile store(InputStream in, String fileName, Long uploaderId);
+
+    /**
+     * 查询文件信息
+     */
+    FileVo getFileInfo(Long fileId, LoginUser loginUser);
+
+    /**
+     * 查询文件记录，仅上传人、管理员及文件所属申请的审批人可以访问
+     */
+    SysFile getFile(Long fileId, LoginUser loginUser);
+
+    /**
+     * 解析文件在磁盘上的位置
+     */
+    Path resolvePath(SysFile file);
+
+    /**
+     * 校验附件为当前用户上传且未被使用，并绑定到业务单据
+     *
+     * @param attachment 前端提交的文件ID
+     */
+    void bindAttachment(String attachment, Long uploaderId, String businessType, Long businessId);
+}
@@ -0,0 +1,217 @@
+package com.approval.module.file.service.impl;
+
+import cn.hutool.core.util.HexUtil;
+import com.approval.common.exception.BusinessException;
+import com.approval.common.security.LoginUser;
+import com.approval.module.approval.entity.Application;
+import com.approval.module.approval.mapper.ApplicationMapper;
+import com.approval.module.approval.mapper.HistoryMapper;
+import com.approval.module.file.entity.SysFile;
+import com.approval.module.file.mapper.SysFileMapper;
+import com.approval.module.file.service.IFileService;
+import com.approval.module.file.support.FileTypes;
+import com.approval.module.file.vo.FileVo;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+
+/**
+ * 文件服务实现
+ * 文件按 SHA-256 内容寻址存放在本地目录：{storage-path}/ab/cd/abcd...，上传边写边计算摘要，不整体读入内存
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class FileServiceImpl implements IFileService {
+
+    private static final String TEMP_DIR = ".tmp";
+    private static final String ROLE_ADMIN = "ROLE_ADMIN";
+    private static final String ROLE_APPROVER = "ROLE_APPROVER";
+
+    private final SysFileMapper sysFileMapper;
+    private final ApplicationMapper applicationMapper;
+    private final HistoryMapper historyMapper;
+
+    @Value("${file.storage-path:./data/files}")
+    private String storagePath;
+
+    private Path root;
+
+    @PostConstruct
+    public void init() throws IOException {
+        root = Paths.get(storagePath).toAbsolutePath().normalize();
+        Files.createDirectories(root.resolve(TEMP_DIR));
+    }
+
+    @Override
+    public FileVo upload(MultipartFile file, Long uploaderId) {
+        if (file == null || file.isEmpty()) {
+            throw new BusinessException(400, "上传文件不能为空");
+        }
+
+        String fileName = StringUtils.hasText(file.getOriginalFilename())
+                ? StringUtils.getFilename(file.getOriginalFilename()) : "file";
+        try (BufferedInputStream in = FileTypes.buffered(file.getInputStream())) {
+            if (FileTypes.detect(in) == null) {
+                throw new BusinessException(400, "仅支持上传 JPG、PNG、GIF、WEBP 图片或 PDF 文件");
+            }
+            return toFileVo(store(in, fileName, uploaderId));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public SysFile store(InputStream in, String fileName, Long uploaderId) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+
+        Path tempFile = null;
+        try {
+            tempFile = Files.createTempFile(root.resolve(TEMP_DIR), "upload-", ".tmp");
+            BufferedInputStream buffered = FileTypes.buffered(in);
+            String fileType = FileTypes.detect(buffered);
+            long fileSize;
+            try (InputStream digestIn = new DigestInputStream(buffered, digest)) {
+                fileSize = Files.copy(digestIn, tempFile, StandardCopyOption.REPLACE_EXISTING);
+            }
+
+            String sha256 = HexUtil.encodeHexStr(digest.digest());
+            String relativePath = sha256.substring(0, 2) + "/" + sha256.substring(2, 4) + "/" + sha256;
+            Path target = root.resolve(relativePath);
+            if (!Files.exists(target)) {
+                Files.createDirectories(target.getParent());
+                try {
+                    Files.move(tempFile, target, StandardCopyOption.ATOMIC_MOVE);
+                } catch (FileAlreadyExistsException e) {
+                    // 并发上传了相同内容，已有文件即可复用
+                    log.debug("文件内容已存在：{}", sha256);
+                }
+            }
+
+            SysFile sysFile = new SysFile();
+            sysFile.setFileName(fileName);
+            sysFile.setFilePath(relativePath);
+            sysFile.setFileSize(fileSize);
+            sysFile.setFileType(fileType != null ? fileType : FileTypes.OCTET_STREAM);
+            sysFile.setSha256(sha256);
+            sysFile.setUploaderId(uploaderId);
+            sysFile.setCreateTime(LocalDateTime.now());
+            sysFileMapper.insert(sysFile);
+            return sysFile;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            if (tempFile != null) {
+                try {
+                    Files.deleteIfExists(tempFile);
+                } catch (IOException e) {
+                    log.warn("临时文件删除失败：{}", tempFile, e);
+                }
+            }
+        }
+    }
+
+    @Override
+    public FileVo getFileInfo(Long fileId, LoginUser loginUser) {
+        return toFileVo(getFile(fileId, loginUser));
+    }
+
+    @Override
+    public SysFile getFile(Long fileId, LoginUser loginUser) {
+        SysFile file = sysFileMapper.selectById(fileId);
+        if (file == null) {
+            throw new BusinessException(404, "文件不存在");
+        }
+        if (!canAccess(file, loginUser)) {
+            throw new BusinessException(403, "无权访问该文件");
+        }
+        return file;
+    }
+
+    @Override
+    public Path resolvePath(SysFile file) {
+        Path path = root.resolve(file.getFilePath()).normalize();
+        if (!path.startsWith(root) || !Files.isRegularFile(path)) {
+            throw new BusinessException(404, "文件不存在");
+        }
+        return path;
+    }
+
+    @Override
+    public void bindAttachment(String attachment, Long uploaderId, String businessType, Long businessId) {
+        if (!StringUtils.hasText(attachment)) {
+            return;
+        }
+
+        Long fileId;
+        try {
+            fileId = Long.valueOf(attachment.trim());
+        } catch (NumberFormatException e) {
+            throw new BusinessException(400, "附件无效，请重新上传");
+        }
+        if (sysFileMapper.bindBusiness(fileId, uploaderId, businessType, businessId) == 0) {
+            throw new BusinessException(400, "附件不存在或已被使用，请重新上传");
+        }
+    }
+
+    /**
+     * 管理员可访问全部文件；未绑定申请的文件仅上传人可访问。
+     * 已绑定的按所属申请（业务类型与申请ID同时匹配）判断：申请人，或审批员在申请处于共享待办池（待审批/审批中）时、
+     * 或本人审批过该申请
+     */
+    private boolean canAccess(SysFile file, LoginUser loginUser) {
+        if (hasRole(loginUser, ROLE_ADMIN)) {
+            return true;
+        }
+        if (file.getBusinessId() == null) {
+            return loginUser.getUserId().equals(file.getUploaderId());
+        }
+
+        Application application = applicationMapper.selectById(file.getBusinessId());
+        if (application == null || !application.getAppType().equals(file.getBusinessType())) {
+            return false;
+        }
+        if (loginUser.getUserId().equals(application.getApplicantId())) {
+            return true;
+        }
+        if (!hasRole(loginUser, ROLE_APPROVER)) {
+            return false;
+        }
+        return application.getStatus() == 1 || application.getStatus() == 2
+                || historyMapper.countByApprover(application.getAppId(), loginUser.getUserId()) > 0;
+    }
+
+    private boolean hasRole(LoginUser loginUser, String role) {
+        return loginUser.getRoles() != null && loginUser.getRoles().contains(role);
+    }
+
+    private FileVo toFileVo(SysFile file) {
+        FileVo vo = new FileVo();
+        BeanUtils.copyProperties(file, vo);
+        return vo;
+    }
+}
@@ -0,0 +1,82 @@
+package com.approval.module.file.support;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Set;
+
+/**
+ * 文件类型识别
+ * 按文件头（魔数）判断类型，不信任客户端提交的 Content-Type 与扩展名。
+ * 只有白名单内的栅格图片与 PDF 允许上传并内联展示，其他类型一律按 application/octet-stream 下载
+ */
+public final class FileTypes {
+
+    public static final String OCTET_STREAM = "application/octet-stream";
+
+    /** 允许上传并内联展示的类型，不含 SVG 等可执行脚本的格式 */
+    private static final Set<String> INLINE_TYPES = Set.of(
+            "image/jpeg", "image/png", "image/gif", "image/webp", "application/pdf");
+
+    private static final int HEADER_SIZE = 12;
+
+    private static final byte[] PNG = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+    private static final byte[] JPEG = {(byte) 0xFF, (byte) 0xD8, (byte) 0xFF};
+    private static final byte[] GIF87A = "GIF87a".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] GIF89A = "GIF89a".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] RIFF = "RIFF".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] WEBP = "WEBP".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] PDF = "%PDF-".getBytes(StandardCharsets.US_ASCII);
+
+    private FileTypes() {
+    }
+
+    /**
+     * 包装为支持 mark/reset 的流，供 detect 预读文件头
+     */
+    public static BufferedInputStream buffered(InputStream in) {
+        return in instanceof BufferedInputStream ? (BufferedInputStream) in : new BufferedInputStream(in);
+    }
+
+    /**
+     * 预读文件头识别类型，读取后流回到原位置
+     *
+     * @return 白名单内的类型，无法识别时返回 null
+     */
+    public static String detect(BufferedInputStream in) throws IOException {
+        in.mark(HEADER_SIZE);
+        byte[] header = in.readNBytes(HEADER_SIZE);
+        in.reset();
+
+        if (startsWith(header, PNG, 0)) {
+            return "image/png";
+        }
+        if (startsWith(header, JPEG, 0)) {
+            return "image/jpeg";
+        }
+        if (startsWith(header, GIF87A, 0) || startsWith(header, GIF89A, 0)) {
+            return "image/gif";
+        }
+        if (startsWith(header, RIFF, 0) && startsWith(header, WEBP, 8)) {
+            return "image/webp";
+        }
+        if (startsWith(header, PDF, 0)) {
+            return "application/pdf";
+        }
+        return null;
+    }
+
+    /**
+     * 是否允许以原类型内联展示
+     */
+    public static boolean isInline(String fileType) {
+        return fileType != null && INLINE_TYPES.contains(fileType);
+    }
+
+    private static boolean startsWith(byte[] header, byte[] magic, int offset) {
+        return header.length >= offset + magic.length
+                && Arrays.equals(header, offset, offset + magic.length, magic, 0, magic.length);
+    }
+}
@@ -0,0 +1,162 @@
+package com.approval.module.file.support;
+
+import com.approval.module.approval.entity.Application;
+import com.approval.module.approval.entity.LeaveApplication;
+import com.approval.module.approval.entity.ReimburseApplication;
+import com.approval.module.approval.mapper.ApplicationMapper;
+import com.approval.module.approval.mapper.LeaveApplicationMapper;
+import com.approval.module.approval.mapper.ReimburseApplicationMapper;
+import com.approval.module.file.entity.SysFile;
+import com.approval.module.file.mapper.SysFileMapper;
+import com.approval.module.file.service.IFileService;
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.core.conditions.update.LambdaUpdateWrapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * 历史附件迁移
+ * 将请假/报销表中以 data URL 形式保存的 Base64 附件写入文件存储，原字段改为文件ID
+ * 通过 file.migrate-legacy=true 启用，按主键分批处理，可重复执行
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "file", name = "migrate-legacy", havingValue = "true")
+public class LegacyAttachmentMigrator implements ApplicationRunner {
+
+    private static final String DATA_URL_PREFIX = "data:";
+    private static final String BASE64_MARKER = ";base64,";
+    private static final int BATCH_SIZE = 20;
+
+    private static final Map<String, String> EXTENSIONS = Map.of(
+            "application/pdf", ".pdf",
+            "application/msword", ".doc",
+            "application/vnd.openxmlformats-officedocument.wordprocessingml.document", ".docx",
+            "application/vnd.ms-excel", ".xls",
+            "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet", ".xlsx",
+            "image/png", ".png",
+            "image/jpeg", ".jpg");
+
+    private final LeaveApplicationMapper leaveApplicationMapper;
+    private final ReimburseApplicationMapper reimburseApplicationMapper;
+    private final ApplicationMapper applicationMapper;
+    private final IFileService fileService;
+    private final SysFileMapper sysFileMapper;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        log.info("开始迁移历史附件");
+        int leaveCount = migrateLeaveAttachments();
+        int reimburseCount = migrateReimburseAttachments();
+        log.info("历史附件迁移完成：请假附件 {} 个，报销发票 {} 个", leaveCount, reimburseCount);
+    }
+
+    private int migrateLeaveAttachments() {
+        int count = 0;
+        long lastId = 0;
+        while (true) {
+            List<LeaveApplication> rows = leaveApplicationMapper.selectList(new LambdaQueryWrapper<LeaveApplication>()
+                    .select(LeaveApplication::getLeaveId, LeaveApplication::getAppId, LeaveApplication::getAttachment)
+                    .likeRight(LeaveApplication::getAttachment, DATA_URL_PREFIX)
+                    .gt(LeaveApplication::getLeaveId, lastId)
+                    .orderByAsc(LeaveApplication::getLeaveId)
+                    .last("LIMIT " + BATCH_SIZE));
+            if (rows.isEmpty()) {
+                return count;
+            }
+
+            Map<Long, Long> applicantMap = getApplicantMap(rows.stream()
+                    .map(LeaveApplication::getAppId)
+                    .collect(Collectors.toSet()));
+            for (LeaveApplication row : rows) {
+                lastId = row.getLeaveId();
+                SysFile file = storeDataUrl(row.getAttachment(), "attachment-" + row.getAppId(),
+                        applicantMap.get(row.getAppId()), "leave", row.getAppId());
+                if (file != null) {
+                    leaveApplicationMapper.update(null, new LambdaUpdateWrapper<LeaveApplication>()
+                            .eq(LeaveApplication::getLeaveId, row.getLeaveId())
+                            .set(LeaveApplication::getAttachment, String.valueOf(file.getFileId())));
+                    count++;
+                }
+            }
+        }
+    }
+
+    private int migrateReimburseAttachments() {
+        int count = 0;
+        long lastId = 0;
+        while (true) {
+            List<ReimburseApplication> rows = reimburseApplicationMapper.selectList(
+                    new LambdaQueryWrapper<ReimburseApplication>()
+                            .select(ReimburseApplication::getReimburseId, ReimburseApplication::getAppId,
+                                    ReimburseApplication::getInvoiceAttachment)
+                            .likeRight(ReimburseApplication::getInvoiceAttachment, DATA_URL_PREFIX)
+                            .gt(ReimburseApplication::getReimburseId, lastId)
+                            .orderByAsc(ReimburseApplication::getReimburseId)
+                            .last("LIMIT " + BATCH_SIZE));
+            if (rows.isEmpty()) {
+                return count;
+            }
+
+            Map<Long, Long> applicantMap = getApplicantMap(rows.stream()
+                    .map(ReimburseApplication::getAppId)
+                    .collect(Collectors.toSet()));
+            for (ReimburseApplication row : rows) {
+                lastId = row.getReimburseId();
+                SysFile file = storeDataUrl(row.getInvoiceAttachment(), "invoice-" + row.getAppId(),
+                        applicantMap.get(row.getAppId()), "reimburse", row.getAppId());
+                if (file != null) {
+                    reimburseApplicationMapper.update(null, new LambdaUpdateWrapper<ReimburseApplication>()
+                            .eq(ReimburseApplication::getReimburseId, row.getReimburseId())
+                            .set(ReimburseApplication::getInvoiceAttachment, String.valueOf(file.getFileId())));
+                    count++;
+                }
+            }
+        }
+    }
+
+    private Map<Long, Long> getApplicantMap(Set<Long> appIds) {
+        return applicationMapper.selectBatchIds(appIds).stream()
+                .collect(Collectors.toMap(Application::getAppId, Application::getApplicantId));
+    }
+
+    /**
+     * 解析 data URL 并写入文件存储，格式不正确时跳过并返回 null
+     */
+    private SysFile storeDataUrl(String dataUrl, String baseName, Long uploaderId, String businessType,
+                                 Long businessId) {
+        int markerIndex = dataUrl.indexOf(BASE64_MARKER);
+        if (markerIndex < 0) {
+            log.warn("附件格式无法识别，跳过：{} {}", businessType, businessId);
+            return null;
+        }
+
+        String fileType = dataUrl.substring(DATA_URL_PREFIX.length(), markerIndex);
+        String fileName = baseName + EXTENSIONS.getOrDefault(fileType, "");
+        byte[] payload = dataUrl.substring(markerIndex + BASE64_MARKER.length()).getBytes(StandardCharsets.US_ASCII);
+        try (InputStream in = Base64.getMimeDecoder().wrap(new ByteArrayInputStream(payload))) {
+            SysFile file = fileService.store(in, fileName, uploaderId);
+            file.setBusinessType(businessType);
+            file.setBusinessId(businessId);
+            sysFileMapper.updateById(file);
+            return file;
+        } catch (Exception e) {
+            log.warn("附件迁移失败，跳过：{} {}", businessType, businessId, e);
+            return null;
+        }
+    }
+}
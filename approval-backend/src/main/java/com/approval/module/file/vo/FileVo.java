@@ -0,0 +1,21 @@
+package com.approval.module.file.vo;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+public class FileVo {
+
+    private Long fileId;
+
+    private String fileName;
+
+    private Long fileSize;
+
+    private String fileType;
+
+    private String sha256;
+
+    private LocalDateTime createTime;
+}
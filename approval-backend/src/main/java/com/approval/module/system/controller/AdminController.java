@@ -1,19 +1,15 @@
 package com.approval.module.system.controller;
 
 import com.approval.common.result.Result;
-import com.approval.common.utils.JwtUtils;
 import com.approval.module.system.dto.AssignRolesDto;
 import com.approval.module.system.dto.DeptDto;
 import com.approval.module.system.dto.PostDto;
 import com.approval.module.system.dto.UserDto;
 import com.approval.module.system.entity.Role;
-import com.approval.module.system.entity.User;
-import com.approval.module.system.mapper.UserMapper;
 import com.approval.module.system.service.IAdminService;
 import com.approval.module.system.vo.DeptVo;
 import com.approval.module.system.vo.PostVo;
 import com.approval.module.system.vo.UserVo;
-import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -31,8 +27,6 @@ import java.util.List;
 public class AdminController {
 
     private final IAdminService adminService;
-    private final JwtUtils jwtUtils;
-    private final UserMapper userMapper;
 
     @Operation(summary = "获取用户列表")
     @GetMapping("/users")
@@ -180,12 +174,4 @@ public class AdminController {
         List<Role> roles = adminService.getAllRoles();
         return Result.success(roles);
     }
-
-    private Long getUserIdFromToken(String token) {
-        String actualToken = token.replace("Bearer ", "");
-        String username = jwtUtils.getUsernameFromToken(actualToken);
-        User user = userMapper.selectOne(
-                new LambdaQueryWrapper<User>().eq(User::getUsername, username));
-        return user != null ? user.getUserId() : null;
-    }
 }
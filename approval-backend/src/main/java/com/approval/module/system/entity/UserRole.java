@@ -0,0 +1,16 @@
+package com.approval.module.system.entity;
+
+import com.baomidou.mybatisplus.annotation.TableName;
+import lombok.Data;
+
+/**
+ * 用户角色关联
+ */
+@Data
+@TableName("sys_user_role")
+public class UserRole {
+
+    private Long userId;
+
+    private Long roleId;
+}
@@ -1,9 +1,11 @@
 package com.approval.module.system.mapper;
 
 import com.approval.module.system.entity.User;
+import com.approval.module.system.entity.UserRole;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import org.apache.ibatis.annotations.*;
 
+import java.util.Collection;
 import java.util.List;
 
 @Mapper
@@ -14,6 +16,12 @@ public interface UserMapper extends BaseMapper<User> {
             "WHERE ur.user_id = #{userId}")
     List<String> selectRolesByUserId(@Param("userId") Long userId);
 
+    @Select("<script>" +
+            "SELECT user_id, role_id FROM sys_user_role WHERE user_id IN " +
+            "<foreach collection='userIds' item='userId' open='(' separator=',' close=')'>#{userId}</foreach>" +
+            "</script>")
+    List<UserRole> selectUserRolesByUserIds(@Param("userIds") Collection<Long> userIds);
+
     @Insert("INSERT INTO sys_user_role (user_id, role_id) VALUES (#{userId}, #{roleId})")
     void insertUserRole(@Param("userId") Long userId, @Param("roleId") Long roleId);
 
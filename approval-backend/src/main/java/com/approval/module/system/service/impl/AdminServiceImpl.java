@@ -1,6 +1,7 @@
 package com.approval.module.system.service.impl;
 
 import com.approval.common.exception.BusinessException;
+import com.approval.common.security.LoginUserCache;
 import com.approval.module.system.dto.AssignRolesDto;
 import com.approval.module.system.dto.DeptDto;
 import com.approval.module.system.dto.PostDto;
@@ -9,11 +10,12 @@ import com.approval.module.system.entity.Dept;
 import com.approval.module.system.entity.Post;
 import com.approval.module.system.entity.Role;
 import com.approval.module.system.entity.User;
+import com.approval.module.system.entity.UserRole;
 import com.approval.module.system.mapper.DeptMapper;
 import com.approval.module.system.mapper.PostMapper;
-import com.approval.module.system.mapper.RoleMapper;
 import com.approval.module.system.mapper.UserMapper;
 import com.approval.module.system.service.IAdminService;
+import com.approval.module.system.support.DictionaryCache;
 import com.approval.module.system.vo.DeptVo;
 import com.approval.module.system.vo.PostVo;
 import com.approval.module.system.vo.UserVo;
@@ -24,7 +26,12 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
 @Service
@@ -34,8 +41,9 @@ public class AdminServiceImpl implements IAdminService {
     private final UserMapper userMapper;
     private final DeptMapper deptMapper;
     private final PostMapper postMapper;
-    private final RoleMapper roleMapper;
     private final PasswordEncoder passwordEncoder;
+    private final LoginUserCache loginUserCache;
+    private final DictionaryCache dictionaryCache;
 
     @Override
     public Page<UserVo> getUserList(Integer pageNum, Integer pageSize, String username, String realName, Long deptId, Integer status) {
@@ -51,10 +59,7 @@ public class AdminServiceImpl implements IAdminService {
         Page<User> userPage = userMapper.selectPage(page, wrapper);
         Page<UserVo> voPage = new Page<>(userPage.getCurrent(), userPage.getSize(), userPage.getTotal());
 
-        voPage.setRecords(userPage.getRecords().stream().map(user -> {
-            UserVo vo = convertToUserVo(user);
-            return vo;
-        }).collect(Collectors.toList()));
+        voPage.setRecords(convertToUserVos(userPage.getRecords()));
 
         return voPage;
     }
@@ -65,7 +70,7 @@ public class AdminServiceImpl implements IAdminService {
         if (user == null) {
             throw new BusinessException(404, "用户不存在");
         }
-        return convertToUserVo(user);
+        return convertToUserVos(Collections.singletonList(user)).get(0);
     }
 
     @Override
@@ -111,6 +116,7 @@ public class AdminServiceImpl implements IAdminService {
             }
         }
 
+        String oldUsername = user.getUsername();
         user.setUsername(dto.getUsername());
         if (dto.getPassword() != null && !dto.getPassword().isEmpty()) {
             user.setPassword(passwordEncoder.encode(dto.getPassword()));
@@ -124,6 +130,9 @@ public class AdminServiceImpl implements IAdminService {
         user.setStatus(dto.getStatus());
 
         userMapper.updateById(user);
+
+        loginUserCache.evict(oldUsername);
+        loginUserCache.evict(user.getUsername());
     }
 
     @Override
@@ -139,6 +148,8 @@ public class AdminServiceImpl implements IAdminService {
         }
 
         userMapper.deleteById(userId);
+
+        loginUserCache.evict(user.getUsername());
     }
 
     @Override
@@ -158,7 +169,7 @@ public class AdminServiceImpl implements IAdminService {
             org.springframework.beans.BeanUtils.copyProperties(dept, vo);
 
             if (dept.getParentId() != null && dept.getParentId() != 0) {
-                Dept parentDept = deptMapper.selectById(dept.getParentId());
+                Dept parentDept = dictionaryCache.getDept(dept.getParentId());
                 if (parentDept != null) {
                     vo.setParentName(parentDept.getDeptName());
                 }
@@ -181,7 +192,7 @@ public class AdminServiceImpl implements IAdminService {
         org.springframework.beans.BeanUtils.copyProperties(dept, vo);
 
         if (dept.getParentId() != null && dept.getParentId() != 0) {
-            Dept parentDept = deptMapper.selectById(dept.getParentId());
+            Dept parentDept = dictionaryCache.getDept(dept.getParentId());
             if (parentDept != null) {
                 vo.setParentName(parentDept.getDeptName());
             }
@@ -210,6 +221,8 @@ public class AdminServiceImpl implements IAdminService {
         dept.setStatus(dto.getStatus() != null ? dto.getStatus() : 1);
 
         deptMapper.insert(dept);
+
+        dictionaryCache.refresh();
     }
 
     @Override
@@ -244,6 +257,8 @@ public class AdminServiceImpl implements IAdminService {
         dept.setStatus(dto.getStatus());
 
         deptMapper.updateById(dept);
+
+        dictionaryCache.refresh();
     }
 
     @Override
@@ -267,6 +282,8 @@ public class AdminServiceImpl implements IAdminService {
         }
 
         deptMapper.deleteById(deptId);
+
+        dictionaryCache.refresh();
     }
 
     @Override
@@ -318,6 +335,8 @@ public class AdminServiceImpl implements IAdminService {
         post.setStatus(dto.getStatus() != null ? dto.getStatus() : 1);
 
         postMapper.insert(post);
+
+        dictionaryCache.refresh();
     }
 
     @Override
@@ -346,6 +365,8 @@ public class AdminServiceImpl implements IAdminService {
         post.setStatus(dto.getStatus());
 
         postMapper.updateById(post);
+
+        dictionaryCache.refresh();
     }
 
     @Override
@@ -363,6 +384,8 @@ public class AdminServiceImpl implements IAdminService {
         }
 
         postMapper.deleteById(postId);
+
+        dictionaryCache.refresh();
     }
 
     @Override
@@ -374,7 +397,7 @@ public class AdminServiceImpl implements IAdminService {
         }
 
         for (Long roleId : dto.getRoleIds()) {
-            Role role = roleMapper.selectById(roleId);
+            Role role = dictionaryCache.getRole(roleId);
             if (role == null) {
                 throw new BusinessException("角色不存在");
             }
@@ -385,13 +408,13 @@ public class AdminServiceImpl implements IAdminService {
         for (Long roleId : dto.getRoleIds()) {
             userMapper.insertUserRole(dto.getUserId(), roleId);
         }
+
+        loginUserCache.evict(user.getUsername());
     }
 
     @Override
     public List<DeptVo> getAllDepts() {
-        List<Dept> depts = deptMapper.selectList(
-                new LambdaQueryWrapper<Dept>().eq(Dept::getStatus, 1).orderByAsc(Dept::getOrderNum));
-        return depts.stream().map(dept -> {
+        return dictionaryCache.getDepts().stream().filter(dept -> Objects.equals(dept.getStatus(), 1)).map(dept -> {
             DeptVo vo = new DeptVo();
             org.springframework.beans.BeanUtils.copyProperties(dept, vo);
             return vo;
@@ -400,9 +423,7 @@ public class AdminServiceImpl implements IAdminService {
 
     @Override
     public List<PostVo> getAllPosts() {
-        List<Post> posts = postMapper.selectList(
-                new LambdaQueryWrapper<Post>().eq(Post::getStatus, 1).orderByAsc(Post::getPostSort));
-        return posts.stream().map(post -> {
+        return dictionaryCache.getPosts().stream().filter(post -> Objects.equals(post.getStatus(), 1)).map(post -> {
             PostVo vo = new PostVo();
             org.springframework.beans.BeanUtils.copyProperties(post, vo);
             return vo;
@@ -411,31 +432,44 @@ public class AdminServiceImpl implements IAdminService {
 
     @Override
     public List<Role> getAllRoles() {
-        return roleMapper.selectList(
-                new LambdaQueryWrapper<Role>().eq(Role::getStatus, 1).orderByAsc(Role::getRoleSort));
+        return dictionaryCache.getRoles().stream()
+                .filter(role -> Objects.equals(role.getStatus(), 1))
+                .collect(Collectors.toList());
     }
 
-    private UserVo convertToUserVo(User user) {
-        UserVo vo = new UserVo();
-        org.springframework.beans.BeanUtils.copyProperties(user, vo);
+    /**
+     * 批量组装用户VO，部门、岗位、角色名称取自字典缓存，用户角色关联整页一次查询
+     */
+    private List<UserVo> convertToUserVos(List<User> users) {
+        if (users.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        List<Long> userIds = users.stream().map(User::getUserId).collect(Collectors.toList());
+        Map<Long, List<String>> roleMap = new HashMap<>();
+        for (UserRole userRole : userMapper.selectUserRolesByUserIds(userIds)) {
+            Role role = dictionaryCache.getRole(userRole.getRoleId());
+            if (role != null) {
+                roleMap.computeIfAbsent(userRole.getUserId(), key -> new ArrayList<>()).add(role.getRoleKey());
+            }
+        }
+
+        return users.stream().map(user -> {
+            UserVo vo = new UserVo();
+            org.springframework.beans.BeanUtils.copyProperties(user, vo);
 
-        if (user.getDeptId() != null) {
-            Dept dept = deptMapper.selectById(user.getDeptId());
+            Dept dept = dictionaryCache.getDept(user.getDeptId());
             if (dept != null) {
                 vo.setDeptName(dept.getDeptName());
             }
-        }
 
-        if (user.getPostId() != null) {
-            Post post = postMapper.selectById(user.getPostId());
+            Post post = dictionaryCache.getPost(user.getPostId());
             if (post != null) {
                 vo.setPostName(post.getPostName());
             }
-        }
-
-        List<String> roles = userMapper.selectRolesByUserId(user.getUserId());
-        vo.setRoles(roles);
 
-        return vo;
+            vo.setRoles(roleMap.getOrDefault(user.getUserId(), new ArrayList<>()));
+            return vo;
+        }).collect(Collectors.toList());
     }
 }
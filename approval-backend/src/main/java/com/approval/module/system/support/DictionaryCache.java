@@ -0,0 +1,181 @@
+package com.approval.module.system.support;
+
+import com.approval.common.cache.TieredCache;
+import com.approval.common.cache.TieredCacheManager;
+import com.approval.module.system.entity.Dept;
+import com.approval.module.system.entity.Post;
+import com.approval.module.system.entity.Role;
+import com.approval.module.system.mapper.DeptMapper;
+import com.approval.module.system.mapper.PostMapper;
+import com.approval.module.system.mapper.RoleMapper;
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import jakarta.annotation.PostConstruct;
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 部门、岗位、角色字典缓存
+ * 三张表数据量小且极少变更，整体加载为不可变快照，变更后重新加载并原子替换；读路径不访问数据库
+ * 字典数据同时放入两级缓存，变更时广播失效，各节点在下次访问时重新加载
+ * 返回的实体为共享对象，调用方只读不写
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DictionaryCache {
+
+    private final DeptMapper deptMapper;
+    private final PostMapper postMapper;
+    private final RoleMapper roleMapper;
+    private final TieredCacheManager cacheManager;
+
+    private static final String CACHE_KEY = "all";
+    private static final long CACHE_TTL = 3600000L;
+
+    private TieredCache<DictionaryData> cache;
+
+    private volatile Snapshot snapshot;
+
+    /** 失效代数，每次失效加一；快照记录加载前的代数，与当前代数不一致或超过缓存有效期即视为过期 */
+    private final AtomicLong generation = new AtomicLong();
+
+    @PostConstruct
+    public void init() {
+        cache = cacheManager.getCache("dictionary", DictionaryData.class, 1, CACHE_TTL);
+        cache.onEvict(key -> generation.incrementAndGet());
+    }
+
+    public Dept getDept(Long deptId) {
+        return deptId == null ? null : snapshot().depts.get(deptId);
+    }
+
+    public String getDeptName(Long deptId) {
+        Dept dept = getDept(deptId);
+        return dept != null ? dept.getDeptName() : "";
+    }
+
+    public Post getPost(Long postId) {
+        return postId == null ? null : snapshot().posts.get(postId);
+    }
+
+    public String getPostName(Long postId) {
+        Post post = getPost(postId);
+        return post != null ? post.getPostName() : "";
+    }
+
+    public Role getRole(Long roleId) {
+        return roleId == null ? null : snapshot().roles.get(roleId);
+    }
+
+    /**
+     * 全部部门，按排序号升序
+     */
+    public List<Dept> getDepts() {
+        return List.copyOf(snapshot().depts.values());
+    }
+
+    /**
+     * 全部岗位，按排序号升序
+     */
+    public List<Post> getPosts() {
+        return List.copyOf(snapshot().posts.values());
+    }
+
+    /**
+     * 全部角色，按排序号升序
+     */
+    public List<Role> getRoles() {
+        return List.copyOf(snapshot().roles.values());
+    }
+
+    /**
+     * 失效字典，下次访问时重新加载；处于事务中时在提交后执行，避免读到未提交或已回滚的数据
+     */
+    public void refresh() {
+        cache.evict(CACHE_KEY);
+    }
+
+    /**
+     * 加载期间发生的失效会让代数前进，本次结果在下次访问时即被判定过期并重新加载；
+     * 快照与缓存同样有有效期，即使错过失效也不会无限期保留旧数据
+     */
+    private Snapshot snapshot() {
+        Snapshot current = snapshot;
+        if (isValid(current, generation.get())) {
+            return current;
+        }
+        synchronized (this) {
+            current = snapshot;
+            long gen = generation.get();
+            if (!isValid(current, gen)) {
+                current = new Snapshot(cache.get(CACHE_KEY, key -> load()), gen,
+                        System.currentTimeMillis() + CACHE_TTL);
+                snapshot = current;
+            }
+            return current;
+        }
+    }
+
+    private boolean isValid(Snapshot current, long gen) {
+        return current != null && current.generation == gen && System.currentTimeMillis() < current.expireAt;
+    }
+
+    private DictionaryData load() {
+        DictionaryData data = new DictionaryData();
+        data.setDepts(deptMapper.selectList(new LambdaQueryWrapper<Dept>().orderByAsc(Dept::getOrderNum)));
+        data.setPosts(postMapper.selectList(new LambdaQueryWrapper<Post>().orderByAsc(Post::getPostSort)));
+        data.setRoles(roleMapper.selectList(new LambdaQueryWrapper<Role>().orderByAsc(Role::getRoleSort)));
+        log.debug("字典数据已加载：部门 {}，岗位 {}，角色 {}",
+                data.getDepts().size(), data.getPosts().size(), data.getRoles().size());
+        return data;
+    }
+
+    private static <T> Map<Long, T> toMap(List<T> list, Function<T, Long> idGetter) {
+        return Collections.unmodifiableMap(list.stream()
+                .collect(Collectors.toMap(idGetter, Function.identity(), (a, b) -> a, LinkedHashMap::new)));
+    }
+
+    /**
+     * 字典原始数据（二级缓存中的存储形式）
+     */
+    @Data
+    public static class DictionaryData {
+
+        private List<Dept> depts;
+
+        private List<Post> posts;
+
+        private List<Role> roles;
+    }
+
+    private static class Snapshot {
+
+        private final long generation;
+
+        private final long expireAt;
+
+        private final Map<Long, Dept> depts;
+
+        private final Map<Long, Post> posts;
+
+        private final Map<Long, Role> roles;
+
+        Snapshot(DictionaryData data, long generation, long expireAt) {
+            this.generation = generation;
+            this.expireAt = expireAt;
+            this.depts = toMap(data.getDepts(), Dept::getDeptId);
+            this.posts = toMap(data.getPosts(), Post::getPostId);
+            this.roles = toMap(data.getRoles(), Role::getRoleId);
+        }
+    }
+}
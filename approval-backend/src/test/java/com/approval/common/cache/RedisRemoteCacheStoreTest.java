@@ -0,0 +1,152 @@
+package com.approval.common.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Redis 二级缓存与 pub/sub 失效：两个 TieredCacheManager 模拟两个节点共用同一个 Redis
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class RedisRemoteCacheStoreTest {
+
+    private static final String CHANNEL = "approval:cache:evict:test";
+    private static final long TTL = 60000L;
+
+    @Container
+    private static final GenericContainer<?> REDIS = new GenericContainer<>(DockerImageName.parse("redis:7-alpine"))
+            .withExposedPorts(6379);
+
+    private LettuceConnectionFactory connectionFactory;
+    private StringRedisTemplate redisTemplate;
+    private final List<RedisMessageListenerContainer> listenerContainers = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        connectionFactory = new LettuceConnectionFactory(
+                new RedisStandaloneConfiguration(REDIS.getHost(), REDIS.getMappedPort(6379)));
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+        redisTemplate.execute(connection -> {
+            connection.serverCommands().flushAll();
+            return null;
+        }, true);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        for (RedisMessageListenerContainer container : listenerContainers) {
+            container.destroy();
+        }
+        connectionFactory.destroy();
+    }
+
+    @Test
+    void secondNodeReadsValueLoadedByFirstNodeFromRedis() {
+        TieredCache<Item> nodeA = node().getCache("item", Item.class, 10, TTL);
+        TieredCache<Item> nodeB = node().getCache("item", Item.class, 10, TTL);
+        AtomicInteger loads = new AtomicInteger();
+
+        assertThat(nodeA.get("1", key -> load(loads, "v1"))).isEqualTo(new Item(1L, "v1"));
+        assertThat(nodeB.get("1", key -> load(loads, "v2"))).isEqualTo(new Item(1L, "v1"));
+
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(redisTemplate.getExpire("approval:cache:item:1")).isPositive();
+    }
+
+    @Test
+    void evictOnOneNodeInvalidatesOtherNodesLocalCache() throws Exception {
+        TieredCache<Item> nodeA = node().getCache("item", Item.class, 10, TTL);
+        TieredCache<Item> nodeB = node().getCache("item", Item.class, 10, TTL);
+        AtomicInteger loads = new AtomicInteger();
+        nodeA.get("1", key -> load(loads, "v1"));
+        nodeB.get("1", key -> load(loads, "v1"));
+
+        AtomicInteger evictedOnA = new AtomicInteger();
+        nodeA.onEvict(key -> evictedOnA.incrementAndGet());
+        CountDownLatch evictedOnB = new CountDownLatch(1);
+        nodeB.onEvict(key -> evictedOnB.countDown());
+
+        // 订阅在后台建立，首条消息可能早于订阅生效，重复失效直到 B 收到
+        for (int i = 0; i < 50 && evictedOnB.getCount() > 0; i++) {
+            nodeA.evict("1");
+            evictedOnB.await(100, TimeUnit.MILLISECONDS);
+        }
+
+        assertThat(evictedOnB.getCount()).isZero();
+        assertThat(redisTemplate.hasKey("approval:cache:item:1")).isFalse();
+        assertThat(nodeB.get("1", key -> load(loads, "v2"))).isEqualTo(new Item(1L, "v2"));
+        // 本节点发出的广播被忽略，A 的回调只由本地失效触发
+        int evictCalls = evictedOnA.get();
+        Thread.sleep(200);
+        assertThat(evictedOnA.get()).isEqualTo(evictCalls);
+    }
+
+    @Test
+    void unreachableRedisDegradesToLoader() {
+        LettuceConnectionFactory broken = new LettuceConnectionFactory(
+                new RedisStandaloneConfiguration(REDIS.getHost(), 1));
+        broken.afterPropertiesSet();
+        broken.start();
+        try {
+            RedisRemoteCacheStore store = new RedisRemoteCacheStore(new StringRedisTemplate(broken),
+                    new ObjectMapper(), new RedisMessageListenerContainer(), CHANNEL);
+
+            assertThat(store.<Item>get("item", "1", Item.class)).isNull();
+            store.put("item", "1", new Item(1L, "v1"), TTL);
+            store.evict("item", "1");
+        } finally {
+            broken.destroy();
+        }
+    }
+
+    private TieredCacheManager node() {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.afterPropertiesSet();
+        container.start();
+        listenerContainers.add(container);
+
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+        beanFactory.addBean("remoteCacheStore",
+                new RedisRemoteCacheStore(redisTemplate, new ObjectMapper(), container, CHANNEL));
+        return new TieredCacheManager(beanFactory.getBeanProvider(RemoteCacheStore.class));
+    }
+
+    private Item load(AtomicInteger loads, String value) {
+        loads.incrementAndGet();
+        return new Item(1L, value);
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Item {
+
+        private Long id;
+
+        private String value;
+    }
+}
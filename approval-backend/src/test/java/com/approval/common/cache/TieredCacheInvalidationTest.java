@@ -0,0 +1,206 @@
+package com.approval.common.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.listener.Topic;
+
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 二级缓存与跨节点失效（无需 Docker）：两个 TieredCacheManager 共用一个进程内 Redis 替身；
+ * RedisRemoteCacheStore 的序列化与 pub/sub 消息处理以 Mock 的 Redis 客户端验证
+ */
+class TieredCacheInvalidationTest {
+
+    private static final long TTL = 60000L;
+
+    private final InMemoryRedis redis = new InMemoryRedis();
+
+    @Test
+    void secondNodeReadsValueLoadedByFirstNode() {
+        TieredCache<Item> nodeA = node().getCache("item", Item.class, 10, TTL);
+        TieredCache<Item> nodeB = node().getCache("item", Item.class, 10, TTL);
+        AtomicInteger loads = new AtomicInteger();
+
+        assertThat(nodeA.get("1", key -> load(loads, "v1"))).isEqualTo(new Item(1L, "v1"));
+        assertThat(nodeB.get("1", key -> load(loads, "v2"))).isEqualTo(new Item(1L, "v1"));
+        assertThat(loads.get()).isEqualTo(1);
+    }
+
+    @Test
+    void evictOnOneNodeInvalidatesOtherNodes() {
+        TieredCache<Item> nodeA = node().getCache("item", Item.class, 10, TTL);
+        TieredCache<Item> nodeB = node().getCache("item", Item.class, 10, TTL);
+        AtomicInteger loads = new AtomicInteger();
+        nodeA.get("1", key -> load(loads, "v1"));
+        nodeB.get("1", key -> load(loads, "v1"));
+
+        AtomicInteger evictedOnA = new AtomicInteger();
+        AtomicInteger evictedOnB = new AtomicInteger();
+        nodeA.onEvict(key -> evictedOnA.incrementAndGet());
+        nodeB.onEvict(key -> evictedOnB.incrementAndGet());
+
+        nodeA.evict("1");
+
+        // A 只由本地失效触发一次，自己发出的广播被忽略；B 由广播失效
+        assertThat(evictedOnA.get()).isEqualTo(1);
+        assertThat(evictedOnB.get()).isEqualTo(1);
+        assertThat(redis.values).isEmpty();
+        assertThat(nodeB.get("1", key -> load(loads, "v2"))).isEqualTo(new Item(1L, "v2"));
+    }
+
+    @Test
+    void redisStoreRoundTripsJsonWithTtl() {
+        StringRedisTemplate template = mock(StringRedisTemplate.class);
+        @SuppressWarnings("unchecked")
+        ValueOperations<String, String> ops = mock(ValueOperations.class);
+        when(template.opsForValue()).thenReturn(ops);
+        RedisRemoteCacheStore store = new RedisRemoteCacheStore(template, new ObjectMapper(),
+                mock(RedisMessageListenerContainer.class), "test");
+
+        store.put("item", "1", new Item(1L, "v1"), TTL);
+        ArgumentCaptor<String> json = ArgumentCaptor.forClass(String.class);
+        verify(ops).set(eq("approval:cache:item:1"), json.capture(), eq(Duration.ofMillis(TTL)));
+
+        when(ops.get("approval:cache:item:1")).thenReturn(json.getValue());
+        assertThat(store.<Item>get("item", "1", Item.class)).isEqualTo(new Item(1L, "v1"));
+    }
+
+    @Test
+    void redisStoreIgnoresItsOwnEvictMessages() {
+        StringRedisTemplate template = mock(StringRedisTemplate.class);
+        RedisMessageListenerContainer container = mock(RedisMessageListenerContainer.class);
+        RedisRemoteCacheStore store = new RedisRemoteCacheStore(template, new ObjectMapper(), container, "test");
+        List<String> received = new CopyOnWriteArrayList<>();
+        store.subscribe((cacheName, key) -> received.add(cacheName + ":" + key));
+
+        ArgumentCaptor<MessageListener> listener = ArgumentCaptor.forClass(MessageListener.class);
+        verify(container).addMessageListener(listener.capture(), any(Topic.class));
+
+        store.evict("item", "1");
+        ArgumentCaptor<String> published = ArgumentCaptor.forClass(String.class);
+        verify(template).delete("approval:cache:item:1");
+        verify(template).convertAndSend(eq("test"), published.capture());
+
+        listener.getValue().onMessage(message(published.getValue()), null);
+        listener.getValue().onMessage(message("other-node|item|2"), null);
+        listener.getValue().onMessage(message("malformed"), null);
+
+        assertThat(received).containsExactly("item:2");
+    }
+
+    private TieredCacheManager node() {
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+        beanFactory.addBean("remoteCacheStore", new InMemoryRemoteCacheStore(redis));
+        return new TieredCacheManager(beanFactory.getBeanProvider(RemoteCacheStore.class));
+    }
+
+    private Item load(AtomicInteger loads, String value) {
+        loads.incrementAndGet();
+        return new Item(1L, value);
+    }
+
+    private DefaultMessage message(String body) {
+        return new DefaultMessage("test".getBytes(StandardCharsets.UTF_8), body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 进程内 Redis 替身：共享 JSON 值与同步投递的失效广播
+     */
+    private static class InMemoryRedis {
+
+        private final ObjectMapper objectMapper = new ObjectMapper();
+        private final Map<String, String> values = new ConcurrentHashMap<>();
+        private final List<BiConsumer<String, String[]>> subscribers = new CopyOnWriteArrayList<>();
+
+        private void publish(String nodeId, String cacheName, String key) {
+            subscribers.forEach(subscriber -> subscriber.accept(nodeId, new String[]{cacheName, key}));
+        }
+    }
+
+    /**
+     * 与 RedisRemoteCacheStore 语义一致：值序列化为 JSON，忽略本节点发出的失效消息
+     */
+    private static class InMemoryRemoteCacheStore implements RemoteCacheStore {
+
+        private final InMemoryRedis redis;
+        private final String nodeId = UUID.randomUUID().toString();
+
+        private InMemoryRemoteCacheStore(InMemoryRedis redis) {
+            this.redis = redis;
+        }
+
+        @Override
+        public <V> V get(String cacheName, String key, Type valueType) {
+            String json = redis.values.get(cacheName + ":" + key);
+            if (json == null) {
+                return null;
+            }
+            try {
+                return redis.objectMapper.readValue(json, redis.objectMapper.getTypeFactory().constructType(valueType));
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        @Override
+        public void put(String cacheName, String key, Object value, long ttl) {
+            try {
+                redis.values.put(cacheName + ":" + key, redis.objectMapper.writeValueAsString(value));
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        @Override
+        public void evict(String cacheName, String key) {
+            redis.values.remove(cacheName + ":" + key);
+            redis.publish(nodeId, cacheName, key);
+        }
+
+        @Override
+        public void subscribe(BiConsumer<String, String> listener) {
+            redis.subscribers.add((sender, message) -> {
+                if (!nodeId.equals(sender)) {
+                    listener.accept(message[0], message[1]);
+                }
+            });
+        }
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Item {
+
+        private Long id;
+
+        private String value;
+    }
+}
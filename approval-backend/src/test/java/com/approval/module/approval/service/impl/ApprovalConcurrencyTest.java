@@ -0,0 +1,208 @@
+package com.approval.module.approval.service.impl;
+
+import com.approval.common.exception.BusinessException;
+import com.approval.module.approval.dto.ApproveTaskDto;
+import com.approval.module.approval.dto.BatchApproveTaskDto;
+import com.approval.module.approval.dto.CreateLeaveDto;
+import com.approval.module.approval.service.IApplicationService;
+import com.approval.module.approval.service.ITaskService;
+import com.approval.module.approval.vo.BatchApproveResultVo;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+import org.testcontainers.utility.MountableFile;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 审批并发：同一任务多线程抢批只有一个成功，批量审批与撤回并发不死锁且结果一致
+ * <p>
+ * 使用 sql 目录下的脚本初始化 MySQL 容器，部门经理节点的审批人为 tech_manager(2)
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@SpringBootTest
+class ApprovalConcurrencyTest {
+
+    private static final long APPLICANT_ID = 5L;
+    private static final long APPROVER_ID = 2L;
+
+    @Container
+    private static final MySQLContainer<?> MYSQL = new MySQLContainer<>(DockerImageName.parse("mysql:8.0"))
+            .withDatabaseName("approval_system")
+            .withUrlParam("useUnicode", "true")
+            .withUrlParam("characterEncoding", "utf8")
+            .withUrlParam("serverTimezone", "Asia/Shanghai")
+            .withCopyFileToContainer(MountableFile.forHostPath("../sql"), "/docker-entrypoint-initdb.d/");
+
+    @DynamicPropertySource
+    static void properties(DynamicPropertyRegistry registry) throws Exception {
+        Path storage = Files.createTempDirectory("approval-files");
+        registry.add("spring.datasource.url", MYSQL::getJdbcUrl);
+        registry.add("spring.datasource.username", MYSQL::getUsername);
+        registry.add("spring.datasource.password", MYSQL::getPassword);
+        registry.add("file.storage-path", storage::toString);
+    }
+
+    @Autowired
+    private IApplicationService applicationService;
+
+    @Autowired
+    private ITaskService taskService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(16);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void concurrentApproveHasSingleWinner() throws Exception {
+        Long appId = applicationService.createLeaveApplication(leave(), APPLICANT_ID);
+        Long taskId = pendingTaskId(appId);
+
+        int threads = 8;
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> futures = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                ApproveTaskDto dto = new ApproveTaskDto();
+                dto.setTaskId(taskId);
+                dto.setAction(1);
+                try {
+                    taskService.approveTask(dto, APPROVER_ID);
+                    return true;
+                } catch (BusinessException e) {
+                    return false;
+                }
+            }));
+        }
+        start.countDown();
+
+        int winners = 0;
+        for (Future<Boolean> future : futures) {
+            if (future.get(30, TimeUnit.SECONDS)) {
+                winners++;
+            }
+        }
+
+        assertThat(winners).isEqualTo(1);
+        assertThat(historyCount(taskId)).isEqualTo(1);
+        assertThat(appStatus(appId)).isEqualTo(3);
+    }
+
+    @Test
+    void batchApproveRacingWithdrawStaysConsistent() throws Exception {
+        int size = 20;
+        List<Long> appIds = new ArrayList<>();
+        List<Long> taskIds = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            Long appId = applicationService.createLeaveApplication(leave(), APPLICANT_ID);
+            appIds.add(appId);
+            taskIds.add(pendingTaskId(appId));
+        }
+
+        CountDownLatch start = new CountDownLatch(1);
+        Future<BatchApproveResultVo> batch = executor.submit(() -> {
+            start.await();
+            BatchApproveTaskDto dto = new BatchApproveTaskDto();
+            dto.setTaskIds(taskIds);
+            dto.setAction(1);
+            return taskService.batchApproveTasks(dto, APPROVER_ID);
+        });
+        List<Future<Boolean>> withdrawals = new ArrayList<>();
+        for (Long appId : appIds) {
+            withdrawals.add(executor.submit(() -> {
+                start.await();
+                try {
+                    applicationService.withdrawApplication(appId, APPLICANT_ID);
+                    return true;
+                } catch (BusinessException e) {
+                    return false;
+                }
+            }));
+        }
+        start.countDown();
+
+        // 死锁或锁等待超时会以非 BusinessException 抛出，这里的 get 会直接失败
+        BatchApproveResultVo result = batch.get(60, TimeUnit.SECONDS);
+        Map<Long, BatchApproveResultVo.Item> items = result.getItems().stream()
+                .collect(Collectors.toMap(BatchApproveResultVo.Item::getTaskId, Function.identity()));
+
+        for (int i = 0; i < size; i++) {
+            Long appId = appIds.get(i);
+            Long taskId = taskIds.get(i);
+            boolean withdrawn = withdrawals.get(i).get(60, TimeUnit.SECONDS);
+            BatchApproveResultVo.Item item = items.get(taskId);
+
+            assertThat(pendingTaskCount(appId)).isZero();
+            if (withdrawn) {
+                assertThat(appStatus(appId)).isEqualTo(5);
+                assertThat(item.isSuccess()).isFalse();
+                assertThat(historyCount(taskId)).isZero();
+            } else {
+                assertThat(appStatus(appId)).isEqualTo(3);
+                assertThat(item.isSuccess()).isTrue();
+                assertThat(historyCount(taskId)).isEqualTo(1);
+            }
+        }
+        assertThat(result.getSuccessCount() + result.getFailCount()).isEqualTo(size);
+    }
+
+    private CreateLeaveDto leave() {
+        CreateLeaveDto dto = new CreateLeaveDto();
+        dto.setLeaveType(1);
+        dto.setStartTime(LocalDateTime.now().plusDays(1));
+        dto.setEndTime(LocalDateTime.now().plusDays(2));
+        dto.setDays(BigDecimal.ONE);
+        dto.setReason("并发测试");
+        return dto;
+    }
+
+    private Long pendingTaskId(Long appId) {
+        return jdbcTemplate.queryForObject(
+                "SELECT task_id FROM bpm_task WHERE app_id = ? AND status = 0", Long.class, appId);
+    }
+
+    private int pendingTaskCount(Long appId) {
+        return jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM bpm_task WHERE app_id = ? AND status = 0", Integer.class, appId);
+    }
+
+    private int historyCount(Long taskId) {
+        return jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM bpm_history WHERE task_id = ?", Integer.class, taskId);
+    }
+
+    private int appStatus(Long appId) {
+        return jdbcTemplate.queryForObject(
+                "SELECT status FROM bpm_application WHERE app_id = ?", Integer.class, appId);
+    }
+}
@@ -0,0 +1,114 @@
+package com.approval.module.approval.service.impl;
+
+import com.approval.module.approval.dto.BatchApproveTaskDto;
+import com.approval.module.approval.engine.ProcessEngine;
+import com.approval.module.approval.engine.ProcessVariables;
+import com.approval.module.approval.entity.Application;
+import com.approval.module.approval.entity.History;
+import com.approval.module.approval.entity.Task;
+import com.approval.module.approval.event.ApprovalEvent;
+import com.approval.module.approval.mapper.ApplicationMapper;
+import com.approval.module.approval.mapper.HistoryMapper;
+import com.approval.module.approval.mapper.TaskMapper;
+import com.approval.module.approval.support.outbox.OutboxPublisher;
+import com.approval.module.approval.vo.BatchApproveResultVo;
+import com.approval.module.system.entity.User;
+import com.approval.module.system.mapper.UserMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Collection;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 批量审批的部分失败：结束申请的集合更新影响行数不符时，只有未更新的申请记为失败，其余照常提交
+ */
+@ExtendWith(MockitoExtension.class)
+class TaskServiceImplBatchApproveTest {
+
+    @Mock
+    private TaskMapper taskMapper;
+    @Mock
+    private ApplicationMapper applicationMapper;
+    @Mock
+    private HistoryMapper historyMapper;
+    @Mock
+    private UserMapper userMapper;
+    @Mock
+    private OutboxPublisher outboxPublisher;
+    @Mock
+    private ProcessEngine processEngine;
+    @Mock
+    private ProcessVariables processVariables;
+
+    @InjectMocks
+    private TaskServiceImpl taskService;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void unmatchedFinishIsReportedPerItem() {
+        User approver = new User();
+        approver.setUserId(2L);
+        approver.setRealName("技术部经理");
+        when(userMapper.selectById(2L)).thenReturn(approver);
+        when(taskMapper.selectByIdsForUpdate(anyCollection())).thenReturn(List.of(task(11L, 1L), task(12L, 2L)));
+        when(applicationMapper.selectByIdsForUpdate(anyCollection()))
+                .thenReturn(List.of(application(1L, 0), application(2L, 0)));
+        // 申请 2 未被更新：影响行数 1，申请 1 的版本号加一，申请 2 不变
+        when(applicationMapper.finishApplications(anyCollection(), eq(4), any())).thenReturn(1);
+        when(applicationMapper.selectBatchIds(anyCollection()))
+                .thenReturn(List.of(application(1L, 1), application(2L, 0)));
+
+        BatchApproveTaskDto dto = new BatchApproveTaskDto();
+        dto.setTaskIds(List.of(11L, 12L));
+        dto.setAction(2);
+        BatchApproveResultVo result = taskService.batchApproveTasks(dto, 2L);
+
+        assertThat(result.getSuccessCount()).isEqualTo(1);
+        assertThat(result.getFailCount()).isEqualTo(1);
+        assertThat(result.getItems()).extracting(BatchApproveResultVo.Item::isSuccess).containsExactly(true, false);
+
+        ArgumentCaptor<Collection<Long>> finished = ArgumentCaptor.forClass(Collection.class);
+        verify(taskMapper).finishTasks(finished.capture(), any());
+        assertThat(finished.getValue()).containsExactly(11L);
+
+        ArgumentCaptor<List<History>> histories = ArgumentCaptor.forClass(List.class);
+        verify(historyMapper).insertBatch(histories.capture());
+        assertThat(histories.getValue()).extracting(History::getTaskId).containsExactly(11L);
+
+        ArgumentCaptor<List<ApprovalEvent>> events = ArgumentCaptor.forClass(List.class);
+        verify(outboxPublisher).publishAll(events.capture());
+        assertThat(events.getValue()).extracting(ApprovalEvent::getAppId).containsExactly(1L);
+    }
+
+    private Task task(Long taskId, Long appId) {
+        Task task = new Task();
+        task.setTaskId(taskId);
+        task.setAppId(appId);
+        task.setNodeName("部门经理审批");
+        task.setAssigneeId(2L);
+        task.setStatus(0);
+        return task;
+    }
+
+    private Application application(Long appId, int version) {
+        Application application = new Application();
+        application.setAppId(appId);
+        application.setAppType("leave");
+        application.setApplicantId(5L);
+        application.setStatus(1);
+        application.setVersion(version);
+        return application;
+    }
+}
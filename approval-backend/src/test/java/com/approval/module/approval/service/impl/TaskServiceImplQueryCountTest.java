@@ -0,0 +1,151 @@
+package com.approval.module.approval.service.impl;
+
+import com.approval.module.approval.entity.Application;
+import com.approval.module.approval.entity.History;
+import com.approval.module.approval.entity.Task;
+import com.approval.module.approval.mapper.ApplicationMapper;
+import com.approval.module.approval.mapper.HistoryMapper;
+import com.approval.module.approval.mapper.TaskMapper;
+import com.approval.module.approval.vo.TaskVo;
+import com.approval.module.system.entity.User;
+import com.approval.module.system.mapper.UserMapper;
+import com.baomidou.mybatisplus.core.MybatisConfiguration;
+import com.baomidou.mybatisplus.core.metadata.TableInfoHelper;
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import org.apache.ibatis.builder.MapperBuilderAssistant;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * 待办/已办列表组装的查询次数：无论分页大小，每个 Mapper 只查询一次
+ */
+@ExtendWith(MockitoExtension.class)
+class TaskServiceImplQueryCountTest {
+
+    @Mock
+    private TaskMapper taskMapper;
+    @Mock
+    private ApplicationMapper applicationMapper;
+    @Mock
+    private HistoryMapper historyMapper;
+    @Mock
+    private UserMapper userMapper;
+
+    @InjectMocks
+    private TaskServiceImpl taskService;
+
+    @BeforeAll
+    static void initTableInfo() {
+        // LambdaQueryWrapper 解析列名依赖实体的表信息缓存
+        MapperBuilderAssistant assistant = new MapperBuilderAssistant(new MybatisConfiguration(), "");
+        TableInfoHelper.initTableInfo(assistant, Task.class);
+        TableInfoHelper.initTableInfo(assistant, History.class);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10, 100})
+    void todoListQueriesDoNotGrowWithPageSize(int size) {
+        List<Task> tasks = tasks(size);
+        stubPage(tasks);
+        stubApplicationsAndUsers(tasks);
+
+        Page<TaskVo> page = taskService.getTodoTasks(2L, 1, size);
+
+        assertThat(page.getRecords()).hasSize(size)
+                .allSatisfy(vo -> assertThat(vo.getApplicantName()).isNotNull());
+        verify(taskMapper, times(1)).selectPage(any(), any());
+        verify(applicationMapper, times(1)).selectBatchIds(anyCollection());
+        verify(userMapper, times(1)).selectBatchIds(anyCollection());
+        verifyNoMoreInteractions(taskMapper, applicationMapper, userMapper, historyMapper);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10, 100})
+    void doneListQueriesDoNotGrowWithPageSize(int size) {
+        List<Task> tasks = tasks(size);
+        stubPage(tasks);
+        stubApplicationsAndUsers(tasks);
+        when(historyMapper.selectList(any())).thenReturn(tasks.stream().map(task -> {
+            History history = new History();
+            history.setTaskId(task.getTaskId());
+            history.setAction(1);
+            return history;
+        }).collect(Collectors.toList()));
+
+        Page<TaskVo> page = taskService.getDoneTasks(2L, 1, size);
+
+        assertThat(page.getRecords()).hasSize(size)
+                .allSatisfy(vo -> assertThat(vo.getAction()).isEqualTo(1));
+        verify(taskMapper, times(1)).selectPage(any(), any());
+        verify(applicationMapper, times(1)).selectBatchIds(anyCollection());
+        verify(userMapper, times(1)).selectBatchIds(anyCollection());
+        verify(historyMapper, times(1)).selectList(any());
+        verifyNoMoreInteractions(taskMapper, applicationMapper, userMapper, historyMapper);
+    }
+
+    private List<Task> tasks(int size) {
+        List<Task> tasks = new ArrayList<>();
+        for (long i = 1; i <= size; i++) {
+            Task task = new Task();
+            task.setTaskId(i);
+            task.setAppId(100 + i);
+            task.setNodeName("部门经理审批");
+            task.setAssigneeId(2L);
+            task.setStatus(0);
+            task.setCreateTime(LocalDateTime.now());
+            tasks.add(task);
+        }
+        return tasks;
+    }
+
+    private void stubPage(List<Task> tasks) {
+        when(taskMapper.selectPage(any(), any())).thenAnswer(invocation -> {
+            Page<Task> page = invocation.getArgument(0);
+            page.setRecords(tasks);
+            page.setTotal(tasks.size());
+            return page;
+        });
+    }
+
+    private void stubApplicationsAndUsers(List<Task> tasks) {
+        when(applicationMapper.selectBatchIds(anyCollection())).thenAnswer(invocation -> {
+            Collection<Long> appIds = invocation.getArgument(0);
+            return appIds.stream().map(appId -> {
+                Application app = new Application();
+                app.setAppId(appId);
+                app.setAppNo("AP" + appId);
+                app.setAppType("leave");
+                app.setApplicantId(appId % 3 + 10);
+                return app;
+            }).collect(Collectors.toList());
+        });
+        when(userMapper.selectBatchIds(anyCollection())).thenAnswer(invocation -> {
+            Collection<Long> userIds = invocation.getArgument(0);
+            return userIds.stream().map(userId -> {
+                User user = new User();
+                user.setUserId(userId);
+                user.setRealName("用户" + userId);
+                return user;
+            }).collect(Collectors.toList());
+        });
+    }
+}
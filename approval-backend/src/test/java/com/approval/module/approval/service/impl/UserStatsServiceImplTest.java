@@ -0,0 +1,85 @@
+package com.approval.module.approval.service.impl;
+
+import com.approval.module.approval.entity.UserStats;
+import com.approval.module.approval.mapper.ApplicationMapper;
+import com.approval.module.approval.mapper.UserStatsMapper;
+import com.approval.module.approval.service.IUserStatsService;
+import com.approval.module.approval.vo.ApplicationSummaryVo;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 统计重建与异步增量的竞争：用户仍有未消费的统计事件时不重建，避免事件消费后重复计数
+ */
+@ExtendWith(MockitoExtension.class)
+class UserStatsServiceImplTest {
+
+    private static final Long USER_ID = 5L;
+
+    @Mock
+    private UserStatsMapper userStatsMapper;
+    @Mock
+    private ApplicationMapper applicationMapper;
+
+    @InjectMocks
+    private UserStatsServiceImpl userStatsService;
+
+    @Test
+    void rebuildIsSkippedWhileEventsAreUnconsumed() {
+        when(userStatsMapper.countUnconsumedEvents(USER_ID, IUserStatsService.OUTBOX_CONSUMER)).thenReturn(1);
+
+        assertThat(userStatsService.rebuild(USER_ID)).isNull();
+        verify(userStatsMapper, never()).upsert(anyLong(), any());
+    }
+
+    @Test
+    void missingRowWithUnconsumedEventsReturnsComputedStatsWithoutPersisting() {
+        when(userStatsMapper.countUnconsumedEvents(USER_ID, IUserStatsService.OUTBOX_CONSUMER)).thenReturn(1);
+        when(applicationMapper.selectSummary(USER_ID)).thenReturn(summary());
+
+        UserStats stats = userStatsService.getUserStats(USER_ID);
+
+        assertThat(stats.getTotalCount()).isEqualTo(1L);
+        assertThat(stats.getPendingCount()).isEqualTo(1L);
+        verify(userStatsMapper, never()).upsert(anyLong(), any());
+    }
+
+    @Test
+    void missingRowIsRebuiltOnceAllEventsAreConsumed() {
+        ApplicationSummaryVo summary = summary();
+        UserStats persisted = new UserStats();
+        persisted.setUserId(USER_ID);
+        persisted.setTotalCount(1L);
+        when(userStatsMapper.selectById(USER_ID)).thenReturn(null, persisted);
+        when(applicationMapper.selectSummary(USER_ID)).thenReturn(summary);
+
+        assertThat(userStatsService.getUserStats(USER_ID)).isSameAs(persisted);
+        verify(userStatsMapper).upsert(USER_ID, summary);
+    }
+
+    private ApplicationSummaryVo summary() {
+        return ApplicationSummaryVo.builder()
+                .totalCount(1L)
+                .pendingCount(1L)
+                .approvedCount(0L)
+                .rejectedCount(0L)
+                .withdrawnCount(0L)
+                .leaveCount(1L)
+                .reimburseCount(0L)
+                .totalLeaveDays(BigDecimal.ZERO)
+                .totalReimburseAmount(BigDecimal.ZERO)
+                .build();
+    }
+}
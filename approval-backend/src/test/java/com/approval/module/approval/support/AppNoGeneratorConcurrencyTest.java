@@ -0,0 +1,85 @@
+package com.approval.module.approval.support;
+
+import com.approval.module.approval.mapper.ApplicationMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 申请单号并发生成：多线程、多实例（模拟多节点共用同一序列）下单号不重复
+ */
+class AppNoGeneratorConcurrencyTest {
+
+    private static final int THREADS = 16;
+    private static final int PER_THREAD = 500;
+    private static final long STEP = 7; // 号段很小，迫使频繁并发补充
+
+    @Test
+    void concurrentCallsAcrossInstancesNeverCollide() throws Exception {
+        // 与数据库 UPDATE max_value = max_value + step 等价：每次预留原子地推进共享最大值
+        AtomicLong maxValue = new AtomicLong();
+        AtomicInteger allocations = new AtomicInteger();
+        SequenceAllocator allocator = mock(SequenceAllocator.class);
+        when(allocator.allocate(anyString(), anyLong(), any())).thenAnswer(invocation -> {
+            allocations.incrementAndGet();
+            return maxValue.addAndGet(invocation.getArgument(1));
+        });
+
+        List<AppNoGenerator> generators = List.of(generator(allocator), generator(allocator));
+        Set<String> appNos = ConcurrentHashMap.newKeySet();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                AppNoGenerator generator = generators.get(t % generators.size());
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < PER_THREAD; i++) {
+                        assertThat(appNos.add(generator.next())).as("单号重复").isTrue();
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        String prefix = "AP" + LocalDate.now().format(DateTimeFormatter.ofPattern("yyyyMMdd"));
+        assertThat(appNos).hasSize(THREADS * PER_THREAD)
+                .allSatisfy(appNo -> assertThat(appNo).startsWith(prefix).hasSize(prefix.length() + 6));
+        // 每个号段都被完整使用，最多每个实例剩余一段未用完
+        assertThat((long) allocations.get() * STEP)
+                .isLessThan(THREADS * PER_THREAD + generators.size() * STEP + 1);
+    }
+
+    private AppNoGenerator generator(SequenceAllocator allocator) {
+        AppNoGenerator generator = new AppNoGenerator(allocator, mock(ApplicationMapper.class));
+        ReflectionTestUtils.setField(generator, "step", STEP);
+        return generator;
+    }
+}
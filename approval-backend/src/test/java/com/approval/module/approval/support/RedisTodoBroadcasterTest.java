@@ -0,0 +1,64 @@
+package com.approval.module.approval.support;
+
+import com.approval.module.approval.event.TodoChangedEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.listener.Topic;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+/**
+ * 待办变更跨节点广播：节点 A 发出的消息由节点 B 还原为事件，A 自己忽略
+ */
+class RedisTodoBroadcasterTest {
+
+    private static final String CHANNEL = "approval:todo:test";
+
+    @Test
+    void otherNodesReceiveEventAndSenderIgnoresIt() {
+        StringRedisTemplate template = mock(StringRedisTemplate.class);
+        RedisMessageListenerContainer containerA = mock(RedisMessageListenerContainer.class);
+        RedisMessageListenerContainer containerB = mock(RedisMessageListenerContainer.class);
+        RedisTodoBroadcaster nodeA = new RedisTodoBroadcaster(template, new ObjectMapper(), containerA, CHANNEL);
+        RedisTodoBroadcaster nodeB = new RedisTodoBroadcaster(template, new ObjectMapper(), containerB, CHANNEL);
+        List<TodoChangedEvent> receivedByA = new CopyOnWriteArrayList<>();
+        List<TodoChangedEvent> receivedByB = new CopyOnWriteArrayList<>();
+        nodeA.subscribe(receivedByA::add);
+        nodeB.subscribe(receivedByB::add);
+
+        nodeA.publish(TodoChangedEvent.removed(List.of(11L, 12L), List.of(1L)));
+
+        ArgumentCaptor<String> published = ArgumentCaptor.forClass(String.class);
+        verify(template).convertAndSend(eq(CHANNEL), published.capture());
+        DefaultMessage message = new DefaultMessage(CHANNEL.getBytes(StandardCharsets.UTF_8),
+                published.getValue().getBytes(StandardCharsets.UTF_8));
+        listenerOf(containerA).onMessage(message, null);
+        listenerOf(containerB).onMessage(message, null);
+
+        assertThat(receivedByA).isEmpty();
+        assertThat(receivedByB).hasSize(1);
+        TodoChangedEvent event = receivedByB.get(0);
+        assertThat(event.getType()).isEqualTo(TodoChangedEvent.TASK_REMOVED);
+        assertThat(event.getTaskIds()).containsExactly(11L, 12L);
+        assertThat(event.getAppIds()).containsExactly(1L);
+    }
+
+    private MessageListener listenerOf(RedisMessageListenerContainer container) {
+        ArgumentCaptor<MessageListener> listener = ArgumentCaptor.forClass(MessageListener.class);
+        verify(container).addMessageListener(listener.capture(), any(Topic.class));
+        return listener.getValue();
+    }
+}
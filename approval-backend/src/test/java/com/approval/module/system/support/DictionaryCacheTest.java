@@ -0,0 +1,94 @@
+package com.approval.module.system.support;
+
+import com.approval.common.cache.RemoteCacheStore;
+import com.approval.common.cache.TieredCacheManager;
+import com.approval.module.system.entity.Dept;
+import com.approval.module.system.entity.Post;
+import com.approval.module.system.entity.Role;
+import com.approval.module.system.mapper.DeptMapper;
+import com.approval.module.system.mapper.PostMapper;
+import com.approval.module.system.mapper.RoleMapper;
+import com.baomidou.mybatisplus.core.MybatisConfiguration;
+import com.baomidou.mybatisplus.core.metadata.TableInfoHelper;
+import org.apache.ibatis.builder.MapperBuilderAssistant;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 字典快照与失效的竞争：加载期间发生的失效不能让旧快照被长期保留
+ */
+class DictionaryCacheTest {
+
+    private final DeptMapper deptMapper = mock(DeptMapper.class);
+    private final PostMapper postMapper = mock(PostMapper.class);
+    private final RoleMapper roleMapper = mock(RoleMapper.class);
+
+    private DictionaryCache dictionaryCache;
+
+    @BeforeAll
+    static void initTableInfo() {
+        MapperBuilderAssistant assistant = new MapperBuilderAssistant(new MybatisConfiguration(), "");
+        TableInfoHelper.initTableInfo(assistant, Dept.class);
+        TableInfoHelper.initTableInfo(assistant, Post.class);
+        TableInfoHelper.initTableInfo(assistant, Role.class);
+    }
+
+    @BeforeEach
+    void setUp() {
+        TieredCacheManager cacheManager = new TieredCacheManager(
+                new StaticListableBeanFactory().getBeanProvider(RemoteCacheStore.class));
+        dictionaryCache = new DictionaryCache(deptMapper, postMapper, roleMapper, cacheManager);
+        dictionaryCache.init();
+        when(postMapper.selectList(any())).thenReturn(Collections.emptyList());
+        when(roleMapper.selectList(any())).thenReturn(Collections.emptyList());
+    }
+
+    @Test
+    void refreshReloadsOnNextAccess() {
+        when(deptMapper.selectList(any())).thenReturn(List.of(dept("技术部")), List.of(dept("研发中心")));
+
+        assertThat(dictionaryCache.getDeptName(1L)).isEqualTo("技术部");
+        assertThat(dictionaryCache.getDeptName(1L)).isEqualTo("技术部");
+
+        dictionaryCache.refresh();
+        assertThat(dictionaryCache.getDeptName(1L)).isEqualTo("研发中心");
+    }
+
+    @Test
+    void evictionDuringLoadDoesNotPinStaleSnapshot() {
+        AtomicInteger loads = new AtomicInteger();
+        when(deptMapper.selectList(any())).thenAnswer(invocation -> {
+            if (loads.incrementAndGet() == 1) {
+                // 第一次加载读到旧数据后、快照发布前，字典被修改并失效
+                dictionaryCache.refresh();
+                return List.of(dept("技术部"));
+            }
+            return List.of(dept("研发中心"));
+        });
+
+        dictionaryCache.getDeptName(1L);
+
+        assertThat(dictionaryCache.getDeptName(1L)).isEqualTo("研发中心");
+        assertThat(loads.get()).isEqualTo(2);
+        assertThat(dictionaryCache.getDeptName(1L)).isEqualTo("研发中心");
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    private Dept dept(String name) {
+        Dept dept = new Dept();
+        dept.setDeptId(1L);
+        dept.setDeptName(name);
+        return dept;
+    }
+}
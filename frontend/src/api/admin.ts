@@ -8,7 +8,7 @@ import type {
     DeptFormData,
     PostFormData,
     AssignRolesData,
-    Application,
+    AdminApplication,
 } from '@/types'
 
 export const adminApi = {
@@ -93,7 +93,7 @@ export const adminApi = {
         status?: number
         appNo?: string
     }) =>
-        request.get<any, { records: Application[]; total: number }>('/admin/applications', { params }),
+        request.get<any, { records: AdminApplication[]; total: number }>('/admin/applications', { params }),
 
     getApplicationDetail: (appId: number) =>
         request.get(`/admin/applications/${appId}`),
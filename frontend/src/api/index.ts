@@ -11,6 +11,9 @@ import type {
     CreateReimburseRequest,
     Task,
     ApproveTaskRequest,
+    BatchApproveTaskRequest,
+    BatchApproveResult,
+    FileInfo,
 } from '@/types'
 
 // ========== 认证相关 ==========
@@ -88,7 +91,29 @@ export const taskApi = {
     approve: (data: ApproveTaskRequest) =>
         request.post('/task/approve', data),
 
+    // 批量审批任务
+    batchApprove: (data: BatchApproveTaskRequest) =>
+        request.post<any, BatchApproveResult>('/task/approve/batch', data),
+
     // 查询已办任务
     getDoneTasks: (params: { pageNum?: number; pageSize?: number }) =>
         request.get<any, { records: Task[]; total: number }>('/task/done', { params }),
 }
+
+// ========== 文件相关 ==========
+export const fileApi = {
+    // 上传文件
+    upload: (file: File) => {
+        const formData = new FormData()
+        formData.append('file', file)
+        return request.post<any, FileInfo>('/file/upload', formData, { timeout: 60000 })
+    },
+
+    // 查询文件信息
+    getInfo: (fileId: number | string) =>
+        request.get<any, FileInfo>(`/file/${fileId}/info`),
+
+    // 下载文件内容
+    download: (fileId: number | string) =>
+        request.get<any, Blob>(`/file/${fileId}`, { responseType: 'blob', timeout: 60000 }),
+}
@@ -3,6 +3,7 @@ import { Button } from './button'
 import { Label } from './label'
 import { Upload, FileText, X, Image } from 'lucide-react'
 import { Card, CardContent } from './card'
+import { fileApi } from '@/api'
 
 interface FileUploadProps {
   id?: string
@@ -10,30 +11,28 @@ interface FileUploadProps {
   acceptedTypes?: string
   maxSize?: number // in MB
   value: string
-  onChange: (value: string) => void
+  onChange: (value: string) => void // 上传成功后回传文件ID
   required?: boolean
   disabled?: boolean
-  useBase64?: boolean // 是否使用base64编码，默认为false
 }
 
 export function FileUpload({
   id,
   label,
-  acceptedTypes = '.pdf, .doc, .docx, .xls, .xlsx',
+  acceptedTypes = '.pdf, .jpg, .jpeg, .png, .gif, .webp',
   maxSize = 10,
   value,
   onChange,
   required = false,
   disabled = false,
-  useBase64 = false,
 }: FileUploadProps) {
   const [file, setFile] = useState<File | null>(null)
-  const [preview, setPreview] = useState<string>('')
+  const [uploading, setUploading] = useState(false)
   const [error, setError] = useState<string>('')
   const fileInputRef = useRef<HTMLInputElement>(null)
 
   // 处理文件选择
-  const handleFileChange = (e: React.ChangeEvent<HTMLInputElement>) => {
+  const handleFileChange = async (e: React.ChangeEvent<HTMLInputElement>) => {
     const selectedFile = e.target.files?.[0]
     if (!selectedFile) return
 
@@ -66,30 +65,27 @@ export function FileUpload({
       return
     }
 
-    // 生成预览
-    const reader = new FileReader()
-    reader.onloadend = () => {
-      const result = reader.result as string
-      setPreview(result)
+    // 上传文件，表单中只保存文件ID
+    setUploading(true)
+    setError('')
+    try {
+      const info = await fileApi.upload(selectedFile)
       setFile(selectedFile)
-      setError('')
-      
-      // 根据useBase64参数决定传递什么内容
-      if (useBase64) {
-        // 只在需要时传递base64编码的内容
-        onChange(result)
-      } else {
-        // 默认只传递文件名，避免数据库插入失败
-        onChange(selectedFile.name)
+      onChange(String(info.fileId))
+    } catch (err) {
+      console.error('文件上传失败:', err)
+      setError('文件上传失败，请重试')
+      if (fileInputRef.current) {
+        fileInputRef.current.value = ''
       }
+    } finally {
+      setUploading(false)
     }
-    reader.readAsDataURL(selectedFile)
   }
 
   // 移除文件
   const handleRemoveFile = () => {
     setFile(null)
-    setPreview('')
     setError('')
     onChange('')
     if (fileInputRef.current) {
@@ -126,11 +122,11 @@ export function FileUpload({
             type="button"
             variant="outline"
             onClick={handleButtonClick}
-            disabled={disabled}
+            disabled={disabled || uploading}
             className="w-full flex items-center justify-center gap-2"
           >
             <Upload className="h-4 w-4" />
-            选择文件
+            {uploading ? '上传中...' : '选择文件'}
           </Button>
         )}
 
@@ -140,15 +136,13 @@ export function FileUpload({
               <div className="flex flex-col sm:flex-row">
                 {/* 预览区域 */}
                 <div className="bg-gray-100 p-4 flex items-center justify-center min-w-[120px]">
-                  {preview && (
-                    <div className="relative w-24 h-24 flex items-center justify-center">
-                      {file.type.startsWith('image/') ? (
-                        <Image className="h-12 w-12 text-gray-400" />
-                      ) : (
-                        <FileText className="h-12 w-12 text-gray-400" />
-                      )}
-                    </div>
-                  )}
+                  <div className="relative w-24 h-24 flex items-center justify-center">
+                    {file.type.startsWith('image/') ? (
+                      <Image className="h-12 w-12 text-gray-400" />
+                    ) : (
+                      <FileText className="h-12 w-12 text-gray-400" />
+                    )}
+                  </div>
                 </div>
                 
                 {/* 文件信息 */}
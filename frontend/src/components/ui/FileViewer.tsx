@@ -1,28 +1,50 @@
-import React from 'react'
+import React, { useEffect, useState } from 'react'
 import { Button } from './button'
 import { Download, Eye, FileText, Image as ImageIcon, ExternalLink } from 'lucide-react'
 import { Card, CardContent } from './card'
+import { fileApi } from '@/api'
 
 interface FileViewerProps {
-  fileName: string
+  attachment?: string // 附件字段值：文件ID，或历史数据中的 data URL
+  fileName?: string
   fileUrl?: string
   fileContent?: string // base64编码的文件内容
   fileType?: string
 }
 
-export function FileViewer({ fileName, fileUrl, fileContent }: FileViewerProps) {
-  // 支持在线查看的文件类型
+export function FileViewer({ attachment, fileName: fileNameProp, fileUrl, fileContent: fileContentProp }: FileViewerProps) {
+  const isDataUrl = !!attachment && attachment.startsWith('data:')
+  const fileId = attachment && !isDataUrl ? attachment : undefined
+  const fileContent = isDataUrl ? attachment : fileContentProp
+
+  const [fileName, setFileName] = useState<string>(fileNameProp || (isDataUrl ? '附件' : ''))
+  const [fileTypeFromServer, setFileTypeFromServer] = useState<string>('')
+  const [previewUrl, setPreviewUrl] = useState<string>('')
+
+  // 按文件ID查询文件名和类型
+  useEffect(() => {
+    if (!fileId) return
+    let cancelled = false
+    fileApi.getInfo(fileId)
+      .then((info) => {
+        if (cancelled) return
+        setFileName(info.fileName)
+        setFileTypeFromServer(info.fileType)
+      })
+      .catch((error) => console.error('文件信息查询失败:', error))
+    return () => {
+      cancelled = true
+    }
+  }, [fileId])
+
+  // 支持在线查看的文件类型，与后端内联展示白名单一致；HTML、SVG 等可执行脚本的类型只允许下载
   const viewableTypes = [
     'image/jpeg',
     'image/png',
     'image/gif',
     'image/webp',
     'application/pdf',
-    'text/plain',
-    'text/html',
-    'text/css',
-    'text/javascript',
-    'application/json'
+    'text/plain'
   ]
 
   // 获取文件类型
@@ -63,11 +85,40 @@ export function FileViewer({ fileName, fileUrl, fileContent }: FileViewerProps)
     }
   }
 
-  const fileType = getFileType(fileName)
+  const fileType = fileTypeFromServer || (isDataUrl
+    ? fileContent!.substring(5, fileContent!.indexOf(';'))
+    : getFileType(fileName))
   const isViewable = viewableTypes.includes(fileType)
 
+  // 图片、PDF 按文件ID加载预览
+  useEffect(() => {
+    if (!fileId || !(fileType.startsWith('image/') || fileType === 'application/pdf')) return
+    let objectUrl = ''
+    let cancelled = false
+    fileApi.download(fileId)
+      .then((blob) => {
+        if (cancelled) return
+        objectUrl = URL.createObjectURL(blob)
+        setPreviewUrl(objectUrl)
+      })
+      .catch((error) => console.error('文件预览加载失败:', error))
+    return () => {
+      cancelled = true
+      if (objectUrl) URL.revokeObjectURL(objectUrl)
+    }
+  }, [fileId, fileType])
+
+  // 按文件ID下载内容并生成临时地址
+  const loadObjectUrl = async (): Promise<string> => {
+    if (previewUrl) return previewUrl
+    const blob = await fileApi.download(fileId!)
+    return URL.createObjectURL(blob)
+  }
+
+  const previewSrc = fileContent || previewUrl
+
   // 下载文件
-  const handleDownload = () => {
+  const handleDownload = async () => {
     try {
       if (fileUrl) {
         // 如果有文件URL，直接下载
@@ -75,6 +126,18 @@ export function FileViewer({ fileName, fileUrl, fileContent }: FileViewerProps)
         return
       }
 
+      if (fileId) {
+        const url = await loadObjectUrl()
+        const a = document.createElement('a')
+        a.href = url
+        a.download = fileName
+        document.body.appendChild(a)
+        a.click()
+        document.body.removeChild(a)
+        if (url !== previewUrl) URL.revokeObjectURL(url)
+        return
+      }
+
       if (fileContent) {
         // 处理不同类型的文件内容
         if (fileContent.startsWith('data:')) {
@@ -126,13 +189,18 @@ export function FileViewer({ fileName, fileUrl, fileContent }: FileViewerProps)
   }
 
   // 查看文件
-  const handleView = () => {
+  const handleView = async () => {
     try {
       if (fileUrl) {
         window.open(fileUrl, '_blank')
         return
       }
 
+      if (fileId) {
+        window.open(await loadObjectUrl(), '_blank')
+        return
+      }
+
       if (fileContent) {
         // 确保fileContent是有效的base64格式
         if (!fileContent.startsWith('data:')) {
@@ -200,10 +268,10 @@ export function FileViewer({ fileName, fileUrl, fileContent }: FileViewerProps)
         </div>
 
         {/* 图片预览区域 */}
-        {isViewable && fileContent && fileType.startsWith('image/') && (
+        {isViewable && previewSrc && fileType.startsWith('image/') && (
           <div className="p-4 border-t">
             <img
-              src={fileContent}
+              src={previewSrc}
               alt={fileName}
               className="max-w-full h-auto rounded"
             />
@@ -211,10 +279,10 @@ export function FileViewer({ fileName, fileUrl, fileContent }: FileViewerProps)
         )}
 
         {/* PDF预览区域 */}
-        {isViewable && fileContent && fileType === 'application/pdf' && (
+        {isViewable && previewSrc && fileType === 'application/pdf' && (
           <div className="p-4 border-t">
             <iframe
-              src={fileContent}
+              src={previewSrc}
               title={fileName}
               className="w-full h-[400px] border rounded"
             />
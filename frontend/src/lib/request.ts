@@ -22,6 +22,11 @@ request.interceptors.request.use(
 // 响应拦截器
 request.interceptors.response.use(
     (response) => {
+        // 文件下载直接返回二进制内容
+        if (response.config.responseType === 'blob') {
+            return response.data
+        }
+
         const { code, data, message } = response.data
 
         if (code === 200) {
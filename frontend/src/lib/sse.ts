@@ -0,0 +1,83 @@
+// 基于 fetch 的 SSE 订阅：EventSource 无法携带 Authorization 请求头，这里手动解析事件流
+export interface SseMessage {
+    event: string
+    data: string
+}
+
+export interface SseOptions {
+    onMessage: (message: SseMessage) => void
+    onOpen?: () => void
+    retryDelay?: number
+}
+
+const baseURL = import.meta.env.VITE_APP_BASE_API || '/api'
+
+export function subscribe(path: string, options: SseOptions): () => void {
+    const controller = new AbortController()
+    const retryDelay = options.retryDelay ?? 3000
+    let closed = false
+
+    const connect = async () => {
+        while (!closed) {
+            try {
+                const token = localStorage.getItem('token')
+                const response = await fetch(`${baseURL}${path}`, {
+                    headers: {
+                        Accept: 'text/event-stream',
+                        ...(token ? { Authorization: `Bearer ${token}` } : {}),
+                    },
+                    signal: controller.signal,
+                })
+                if (!response.ok || !response.body) {
+                    throw new Error(`SSE 连接失败：${response.status}`)
+                }
+                options.onOpen?.()
+
+                const reader = response.body.getReader()
+                const decoder = new TextDecoder()
+                let buffer = ''
+                for (;;) {
+                    const { value, done } = await reader.read()
+                    if (done) break
+                    buffer += decoder.decode(value, { stream: true })
+
+                    let boundary = buffer.indexOf('\n\n')
+                    while (boundary >= 0) {
+                        const block = buffer.slice(0, boundary)
+                        buffer = buffer.slice(boundary + 2)
+                        const message = parseBlock(block)
+                        if (message) options.onMessage(message)
+                        boundary = buffer.indexOf('\n\n')
+                    }
+                }
+            } catch (error) {
+                if (closed) return
+                console.warn('SSE 连接中断，稍后重连', error)
+            }
+            if (!closed) {
+                await new Promise((resolve) => setTimeout(resolve, retryDelay))
+            }
+        }
+    }
+
+    connect()
+
+    return () => {
+        closed = true
+        controller.abort()
+    }
+}
+
+function parseBlock(block: string): SseMessage | null {
+    let event = 'message'
+    const data: string[] = []
+    for (const line of block.split('\n')) {
+        if (line.startsWith(':')) continue // 注释（心跳）
+        if (line.startsWith('event:')) {
+            event = line.slice(6).trim()
+        } else if (line.startsWith('data:')) {
+            data.push(line.slice(5).trimStart())
+        }
+    }
+    return data.length > 0 ? { event, data: data.join('\n') } : null
+}
@@ -24,6 +24,7 @@ import { Textarea } from '@/components/ui/textarea'
 import { RadioGroup, RadioGroupItem } from '@/components/ui/radio-group'
 import { Card, CardContent, CardHeader, CardTitle } from '@/components/ui/card'
 import { FileViewer } from '@/components/ui/FileViewer'
+import { subscribe } from '@/lib/sse'
 
 export default function TodoTasks() {
     const [tasks, setTasks] = useState<Task[]>([])
@@ -62,6 +63,17 @@ export default function TodoTasks() {
 
     useEffect(() => {
         fetchTasks()
+
+        // 订阅待办变更：有新增/移除或服务端提示 resync 时刷新列表，空闲时不产生查询
+        let connected = false
+        return subscribe('/task/todo/stream', {
+            onMessage: () => fetchTasks(),
+            // 断线重连期间可能错过事件，重连成功后补一次刷新
+            onOpen: () => {
+                if (connected) fetchTasks()
+                connected = true
+            },
+        })
     }, [])
 
     const handleApprove = async () => {
@@ -191,8 +203,7 @@ export default function TodoTasks() {
                                                 <div className="col-span-2 space-y-2">
                                                     <p className="text-sm text-gray-500">附件</p>
                                                     <FileViewer
-                                                        fileName={applicationDetail.detail.attachment}
-                                                        fileContent={applicationDetail.detail.attachment.startsWith('data:') ? applicationDetail.detail.attachment : undefined}
+                                                        attachment={applicationDetail.detail.attachment}
                                                     />
                                                 </div>
                                             )}
@@ -225,8 +236,7 @@ export default function TodoTasks() {
                                             <div className="col-span-2 space-y-2">
                                                 <p className="text-sm text-gray-500">发票附件</p>
                                                 <FileViewer
-                                                    fileName={applicationDetail.detail.invoiceAttachment}
-                                                    fileContent={applicationDetail.detail.invoiceAttachment.startsWith('data:') ? applicationDetail.detail.invoiceAttachment : undefined}
+                                                    attachment={applicationDetail.detail.invoiceAttachment}
                                                 />
                                             </div>
                                         </div>
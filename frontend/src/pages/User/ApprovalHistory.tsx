@@ -372,8 +372,7 @@ export default function ApprovalHistory() {
                                                 <div className="col-span-2 space-y-2">
                                                     <p className="text-sm text-gray-500">附件</p>
                                                     <FileViewer
-                                                        fileName={applicationDetail.detail.attachment}
-                                                        fileContent={applicationDetail.detail.attachment.startsWith('data:') ? applicationDetail.detail.attachment : undefined}
+                                                        attachment={applicationDetail.detail.attachment}
                                                     />
                                                 </div>
                                             )}
@@ -406,8 +405,7 @@ export default function ApprovalHistory() {
                                             <div className="col-span-2 space-y-2">
                                                 <p className="text-sm text-gray-500">发票附件</p>
                                                 <FileViewer
-                                                    fileName={applicationDetail.detail.invoiceAttachment}
-                                                    fileContent={applicationDetail.detail.invoiceAttachment.startsWith('data:') ? applicationDetail.detail.invoiceAttachment : undefined}
+                                                    attachment={applicationDetail.detail.invoiceAttachment}
                                                 />
                                             </div>
                                         </div>
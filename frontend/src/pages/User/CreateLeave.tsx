@@ -147,12 +147,11 @@ export default function CreateLeave() {
                             <FileUpload
                                 id="leave-attachment"
                                 label="附件"
-                                acceptedTypes=".pdf, .doc, .docx"
+                                acceptedTypes=".pdf, .jpg, .jpeg, .png, .gif, .webp"
                                 maxSize={5}
                                 value={form.attachment}
                                 onChange={(value) => setForm({ ...form, attachment: value })}
                                 required={false}
-                                useBase64={true}
                             />
                         </div>
 
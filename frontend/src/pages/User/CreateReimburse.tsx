@@ -124,12 +124,11 @@ export default function CreateReimburse() {
                             <FileUpload
                                 id="invoice-attachment"
                                 label="发票附件 *"
-                                acceptedTypes=".pdf, .doc, .docx, .xls, .xlsx"
+                                acceptedTypes=".pdf, .jpg, .jpeg, .png, .gif, .webp"
                                 maxSize={10}
                                 value={form.invoiceAttachment}
                                 onChange={(value) => setForm({ ...form, invoiceAttachment: value })}
                                 required={true}
-                                useBase64={true}
                             />
                         </div>
 
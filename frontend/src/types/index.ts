@@ -114,6 +114,35 @@ export interface ApproveTaskRequest {
     comment?: string
 }
 
+export interface BatchApproveTaskRequest {
+    taskIds: number[]
+    action: number
+    comment?: string
+}
+
+export interface BatchApproveResult {
+    successCount: number
+    failCount: number
+    items: { taskId: number; success: boolean; message?: string }[]
+}
+
+export interface FileInfo {
+    fileId: number
+    fileName: string
+    fileSize: number
+    fileType: string
+    sha256: string
+    createTime: string
+}
+
+export interface AdminApplication extends Application {
+    applicantId: number
+    leaveType?: number
+    leaveDays?: number
+    expenseType?: number
+    expenseAmount?: number
+}
+
 export interface AdminUser {
     userId: number
     username: string
@@ -0,0 +1,16 @@
+-- =============================================
+-- 审批历史按任务查询索引
+-- 版本：1.0
+-- 创建时间：2026-10-18
+-- =============================================
+
+USE approval_system;
+
+-- 已办列表按 task_id 批量查询每个任务最新的审批记录
+ALTER TABLE bpm_history
+ADD INDEX idx_task_id (task_id, create_time);
+
+-- =============================================
+-- 脚本执行完成提示
+-- =============================================
+SELECT '✅ 审批历史索引创建完成！' AS message;
@@ -0,0 +1,16 @@
+-- =============================================
+-- 审批历史"最新记录"查询索引
+-- 版本：1.0
+-- 创建时间：2026-10-18
+-- =============================================
+
+USE approval_system;
+
+-- 审批历史分页按 app_id 取 approve_time 最新的一条记录
+ALTER TABLE bpm_history
+ADD INDEX idx_app_approve_time (app_id, approve_time);
+
+-- =============================================
+-- 脚本执行完成提示
+-- =============================================
+SELECT '✅ 审批历史索引创建完成！' AS message;
@@ -0,0 +1,33 @@
+-- =============================================
+-- 游标（Keyset）分页索引
+-- 版本：1.0
+-- 创建时间：2026-10-18
+-- =============================================
+
+USE approval_system;
+
+-- 我的申请：applicant_id 过滤后按 (submit_time, app_id) 倒序翻页
+-- 全部申请使用已有的 idx_submit_time，InnoDB 二级索引已隐含主键 app_id
+ALTER TABLE bpm_application
+ADD INDEX idx_applicant_submit (applicant_id, submit_time, app_id);
+
+-- 待办任务：审批员共享待办池，status 过滤后按 (create_time, task_id) 倒序翻页
+ALTER TABLE bpm_task
+ADD INDEX idx_status_create (status, create_time, task_id);
+
+-- 已办任务：assignee_id + status 过滤后按 (finish_time, task_id) 倒序翻页
+ALTER TABLE bpm_task
+ADD INDEX idx_assignee_status_finish (assignee_id, status, finish_time, task_id);
+
+-- 原单列索引是上面组合索引的最左前缀，不再单独保留
+ALTER TABLE bpm_application
+DROP INDEX idx_applicant_id;
+
+ALTER TABLE bpm_task
+DROP INDEX idx_status,
+DROP INDEX idx_assignee_id;
+
+-- =============================================
+-- 脚本执行完成提示
+-- =============================================
+SELECT '✅ 游标分页索引创建完成！' AS message;
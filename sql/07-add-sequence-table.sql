@@ -0,0 +1,27 @@
+-- =============================================
+-- 号段序列表（申请单号生成）
+-- 版本：1.0
+-- 创建时间：2026-10-18
+-- =============================================
+
+USE approval_system;
+
+-- 每个序列一行，后端按号段批量预留：UPDATE max_value = max_value + step
+-- 申请单号序列名为 app_no:yyyyMMdd，首次使用时由后端按当天已有最大流水号初始化
+CREATE TABLE IF NOT EXISTS bpm_sequence (
+    seq_name VARCHAR(64) PRIMARY KEY COMMENT '序列名称',
+    max_value BIGINT NOT NULL DEFAULT 0 COMMENT '已分配的最大值',
+    update_time DATETIME DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间'
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='号段序列表';
+
+-- 以当天已有申请的最大流水号初始化今日序列
+INSERT IGNORE INTO bpm_sequence (seq_name, max_value)
+SELECT CONCAT('app_no:', DATE_FORMAT(NOW(), '%Y%m%d')),
+       IFNULL(MAX(CAST(SUBSTRING(app_no, 11) AS UNSIGNED)), 0)
+FROM bpm_application
+WHERE app_no LIKE CONCAT('AP', DATE_FORMAT(NOW(), '%Y%m%d'), '%');
+
+-- =============================================
+-- 脚本执行完成提示
+-- =============================================
+SELECT '✅ 号段序列表创建完成！' AS message;
@@ -0,0 +1,27 @@
+-- =============================================
+-- 附件文件化存储脚本
+-- 版本：1.0
+-- 创建时间：2026-10-18
+-- =============================================
+
+USE approval_system;
+
+-- 文件表增加内容摘要，内容相同的文件共用同一存储路径
+ALTER TABLE sys_file
+ADD COLUMN sha256 CHAR(64) COMMENT '文件内容SHA-256' AFTER file_type,
+MODIFY COLUMN file_type VARCHAR(100) COMMENT '文件类型',
+ADD INDEX idx_sha256 (sha256);
+
+-- =============================================
+-- 历史附件迁移完成后执行（启动参数 --file.migrate-legacy=true）
+-- 附件字段只保存文件ID，恢复为短字段
+-- =============================================
+-- ALTER TABLE bpm_leave_application
+-- MODIFY COLUMN attachment VARCHAR(255) COMMENT '附件文件ID';
+-- ALTER TABLE bpm_reimburse_application
+-- MODIFY COLUMN invoice_attachment VARCHAR(255) NOT NULL COMMENT '发票文件ID';
+
+-- =============================================
+-- 脚本执行完成提示
+-- =============================================
+SELECT '✅ 文件表更新完成！' AS message;
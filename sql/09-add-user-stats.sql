@@ -0,0 +1,50 @@
+-- =============================================
+-- 用户申请统计表
+-- 版本：1.0
+-- 创建时间：2026-10-18
+-- =============================================
+
+USE approval_system;
+
+-- 每个申请人一行，随提交/审批/撤回增量更新，申请概览按主键读取
+CREATE TABLE IF NOT EXISTS bpm_user_stats (
+    user_id BIGINT PRIMARY KEY COMMENT '用户ID',
+    total_count BIGINT NOT NULL DEFAULT 0 COMMENT '申请总数',
+    pending_count BIGINT NOT NULL DEFAULT 0 COMMENT '待审批数',
+    approved_count BIGINT NOT NULL DEFAULT 0 COMMENT '已通过数',
+    rejected_count BIGINT NOT NULL DEFAULT 0 COMMENT '已拒绝数',
+    withdrawn_count BIGINT NOT NULL DEFAULT 0 COMMENT '已撤回数',
+    leave_count BIGINT NOT NULL DEFAULT 0 COMMENT '请假申请数',
+    reimburse_count BIGINT NOT NULL DEFAULT 0 COMMENT '报销申请数',
+    approved_leave_days DECIMAL(10,2) NOT NULL DEFAULT 0 COMMENT '已通过的请假天数',
+    approved_reimburse_amount DECIMAL(14,2) NOT NULL DEFAULT 0 COMMENT '已通过的报销金额',
+    last_submit_time DATETIME COMMENT '最近提交时间',
+    update_time DATETIME DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间'
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='用户申请统计表';
+
+-- 按现有申请初始化统计
+INSERT INTO bpm_user_stats (user_id, total_count, pending_count, approved_count, rejected_count, withdrawn_count,
+                            leave_count, reimburse_count, approved_leave_days, approved_reimburse_amount,
+                            last_submit_time)
+SELECT a.applicant_id,
+       COUNT(*),
+       SUM(a.status = 1),
+       SUM(a.status = 3),
+       SUM(a.status = 4),
+       SUM(a.status = 5),
+       SUM(a.app_type = 'leave'),
+       SUM(a.app_type = 'reimburse'),
+       COALESCE(SUM(CASE WHEN a.status = 3 THEN l.days END), 0),
+       COALESCE(SUM(CASE WHEN a.status = 3 THEN r.amount END), 0),
+       MAX(a.submit_time)
+FROM bpm_application a
+LEFT JOIN bpm_leave_application l ON a.app_type = 'leave' AND l.app_id = a.app_id
+LEFT JOIN bpm_reimburse_application r ON a.app_type = 'reimburse' AND r.app_id = a.app_id
+WHERE a.del_flag = 0
+GROUP BY a.applicant_id
+ON DUPLICATE KEY UPDATE user_id = user_id;
+
+-- =============================================
+-- 脚本执行完成提示
+-- =============================================
+SELECT '✅ 用户统计表创建完成！' AS message;
@@ -0,0 +1,16 @@
+-- =============================================
+-- 申请表乐观锁版本号
+-- 版本：1.0
+-- 创建时间：2026-10-18
+-- =============================================
+
+USE approval_system;
+
+-- 审批、撤回等并发修改申请时按版本号条件更新，后提交者更新 0 行并失败
+ALTER TABLE bpm_application
+ADD COLUMN version INT NOT NULL DEFAULT 0 COMMENT '乐观锁版本号' AFTER current_node;
+
+-- =============================================
+-- 脚本执行完成提示
+-- =============================================
+SELECT '✅ 申请表版本号添加完成！' AS message;
@@ -0,0 +1,53 @@
+-- =============================================
+-- 事务发件箱与审计日志
+-- 版本：1.0
+-- 创建时间：2026-10-18
+-- 说明：领取事件使用 FOR UPDATE SKIP LOCKED，需 MySQL 8.0+
+-- =============================================
+
+USE approval_system;
+
+-- 与审批状态变更在同一事务内写入，由后台转发任务分批投递给各消费者
+CREATE TABLE IF NOT EXISTS bpm_outbox (
+    outbox_id BIGINT PRIMARY KEY AUTO_INCREMENT COMMENT '事件ID',
+    event_type VARCHAR(50) NOT NULL COMMENT '事件类型',
+    aggregate_id BIGINT NOT NULL COMMENT '申请ID',
+    payload TEXT NOT NULL COMMENT '事件内容（JSON）',
+    status TINYINT NOT NULL DEFAULT 0 COMMENT '状态：0=待投递 1=已投递 2=投递失败',
+    retry_count INT NOT NULL DEFAULT 0 COMMENT '已重试次数',
+    next_retry_time DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '下次投递时间',
+    last_error VARCHAR(500) COMMENT '最近一次失败原因',
+    create_time DATETIME DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
+    processed_time DATETIME COMMENT '投递完成时间',
+    INDEX idx_status_retry (status, next_retry_time),
+    INDEX idx_processed_time (processed_time)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='事务发件箱';
+
+-- 非幂等消费者（如统计增量）的消费记录，重复投递时据此跳过
+CREATE TABLE IF NOT EXISTS bpm_outbox_consumed (
+    outbox_id BIGINT NOT NULL COMMENT '事件ID',
+    consumer VARCHAR(50) NOT NULL COMMENT '消费者',
+    create_time DATETIME DEFAULT CURRENT_TIMESTAMP COMMENT '消费时间',
+    PRIMARY KEY (outbox_id, consumer),
+    INDEX idx_create_time (create_time)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='发件箱消费记录';
+
+-- 审批操作审计日志，按事件ID唯一，重复投递不会重复记录
+CREATE TABLE IF NOT EXISTS bpm_audit_log (
+    log_id BIGINT PRIMARY KEY AUTO_INCREMENT COMMENT '日志ID',
+    outbox_id BIGINT NOT NULL COMMENT '事件ID',
+    event_type VARCHAR(50) NOT NULL COMMENT '事件类型',
+    app_id BIGINT NOT NULL COMMENT '申请ID',
+    operator_id BIGINT COMMENT '操作人ID',
+    from_status TINYINT COMMENT '变更前状态',
+    to_status TINYINT COMMENT '变更后状态',
+    occur_time DATETIME COMMENT '发生时间',
+    create_time DATETIME DEFAULT CURRENT_TIMESTAMP COMMENT '记录时间',
+    UNIQUE KEY uk_outbox_id (outbox_id),
+    INDEX idx_app_id (app_id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='审批审计日志';
+
+-- =============================================
+-- 脚本执行完成提示
+-- =============================================
+SELECT '✅ 发件箱表创建完成！' AS message;
@@ -0,0 +1,32 @@
+-- =============================================
+-- 审批流程模板初始化
+-- 版本：1.0
+-- 创建时间：2026-10-18
+-- =============================================
+
+USE approval_system;
+
+-- 模板标识与申请类型一致；修改后后端按 approval.process.reload-interval 周期自动重新加载
+-- 条件表达式支持 变量 比较符 常量，可用 && / || 组合；请假单变量 leaveType、days，报销单变量 expenseType、amount
+INSERT INTO bpm_process_template (template_name, template_key, process_config, status) VALUES
+('请假审批流程', 'leave',
+ '{"startNode": "deptManager", "nodes": [
+   {"id": "deptManager", "name": "部门经理审批", "assigneeId": 2, "assigneeName": "技术部经理",
+    "transitions": [{"to": "hr", "condition": "days > 3"}, {"to": "end"}]},
+   {"id": "hr", "name": "人事审批", "assigneeId": 4, "assigneeName": "人事部经理",
+    "transitions": [{"to": "end"}]}
+ ]}', 1),
+('报销审批流程', 'reimburse',
+ '{"startNode": "deptManager", "nodes": [
+   {"id": "deptManager", "name": "部门经理审批", "assigneeId": 2, "assigneeName": "技术部经理",
+    "transitions": [{"to": "finance", "condition": "amount > 5000"}, {"to": "end"}]},
+   {"id": "finance", "name": "财务审批", "assigneeId": 3, "assigneeName": "财务部经理",
+    "transitions": [{"to": "end"}]}
+ ]}', 1)
+ON DUPLICATE KEY UPDATE template_name = VALUES(template_name), process_config = VALUES(process_config),
+    status = VALUES(status), del_flag = 0;
+
+-- =============================================
+-- 脚本执行完成提示
+-- =============================================
+SELECT '✅ 审批流程模板初始化完成！' AS message;